@@ -0,0 +1,52 @@
+package com.syun.posleep.catalog;
+
+import java.util.Random;
+
+/**
+ * 벤치마크용 카탈로그/유저 데이터 (시드 고정).
+ * 실제 게임 데이터 규모: 식재료 약 20개, 레시피 약 70개, 레시피당 식재료 1~4개
+ */
+public final class CatalogFixtures {
+
+    private static final String[] CATEGORIES = { "카레/스튜", "샐러드", "디저트/음료" };
+
+    private CatalogFixtures() {}
+
+    public static CatalogSnapshot catalog(int recipes, int ingredients, long seed) {
+        Random random = new Random(seed);
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder().version(seed);
+        for (int id = 1; id <= ingredients; id++) {
+            builder.ingredient(id, "식재료" + id);
+        }
+        for (int r = 1; r <= recipes; r++) {
+            int count = 1 + random.nextInt(4);
+            Integer[] ids = new Integer[count];
+            Integer[] needs = new Integer[count];
+            int total = 0;
+            for (int k = 0; k < count; k++) {
+                ids[k] = 1 + random.nextInt(ingredients);
+                needs[k] = 3 + random.nextInt(30);
+                total += needs[k];
+            }
+            builder.recipe(r, "레시피" + r, CATEGORIES[r % CATEGORIES.length], total,
+                    random.nextInt(10) == 0 ? null : 100 + random.nextInt(10_000), ids, needs);
+        }
+        return builder.build();
+    }
+
+    public static int[] quantities(CatalogSnapshot catalog, long seed) {
+        Random random = new Random(seed);
+        int[] quantities = catalog.newQuantityArray();
+        for (int id = 1; id < quantities.length; id++) {
+            if (random.nextInt(10) < 6) quantities[id] = random.nextInt(60);
+        }
+        return quantities;
+    }
+
+    public static boolean[] flags(CatalogSnapshot catalog, long seed, int percent) {
+        Random random = new Random(seed);
+        boolean[] flags = new boolean[catalog.size()];
+        for (int i = 0; i < flags.length; i++) flags[i] = random.nextInt(100) < percent;
+        return flags;
+    }
+}
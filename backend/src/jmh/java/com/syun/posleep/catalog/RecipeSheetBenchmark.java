@@ -0,0 +1,54 @@
+package com.syun.posleep.catalog;
+
+import com.syun.posleep.query.RecipeSheetRow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메모리 카탈로그로 유저 레시피 시트 계산 (DB 조회 제외)
+ * - fixedSlots : 기존 4칸 RecipeSheetRow (GET /recipes)
+ * - listItems  : 목록형 RecipeSheetItem (GET /recipes/sheet)
+ * - compact    : 부족 수량 배열만 (GET /recipes?format=compact)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeSheetBenchmark {
+
+    // 70 = 현재 게임 데이터, 나머지는 확장 대비
+    @Param({ "70", "300", "1000" })
+    public int recipes;
+
+    @Param({ "20" })
+    public int ingredients;
+
+    private CatalogSnapshot catalog;
+    private int[] quantities;
+    private boolean[] registered;
+    private boolean[] target;
+
+    @Setup
+    public void setup() {
+        catalog = CatalogFixtures.catalog(recipes, ingredients, 42);
+        quantities = CatalogFixtures.quantities(catalog, 7);
+        registered = CatalogFixtures.flags(catalog, 11, 50);
+        target = CatalogFixtures.flags(catalog, 13, 20);
+    }
+
+    @Benchmark
+    public List<RecipeSheetRow> fixedSlots() {
+        return catalog.toSheet(quantities, registered, target);
+    }
+
+    @Benchmark
+    public List<RecipeSheetItem> listItems() {
+        return catalog.toSheetItems(quantities, registered, target);
+    }
+
+    @Benchmark
+    public int[] compact() {
+        return catalog.requirements(quantities);
+    }
+}
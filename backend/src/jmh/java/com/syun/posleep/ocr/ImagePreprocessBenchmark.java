@@ -0,0 +1,108 @@
+package com.syun.posleep.ocr;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OCR 전처리 효과 (전송 바이트 + 전체 지연)
+ * - preprocessOnly        : 자르기/축소/흑백/PNG 인코딩 비용
+ * - rawEndToEnd           : 원본 그대로 OCR (replay 엔진, MB 당 지연으로 업로드 흉내)
+ * - preprocessedEndToEnd  : 전처리 후 OCR
+ * 보조 카운터 bytesOnWire 로 호출당 전송 바이트를 함께 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImagePreprocessBenchmark {
+
+    // 19.5:9 휴대폰 스크린샷
+    private static final int WIDTH = 1170;
+    private static final int HEIGHT = 2532;
+    // 약 100Mbps 업링크
+    private static final long LATENCY_PER_MB_MS = 80;
+
+    private static final String[] NAMES = {
+            "굵은대파", "풍미버섯", "특선에그", "따끈따끈감자", "특선사과", "불맛허브", "콩고기", "튼튼밀크",
+            "달콤한꿀", "퓨어오일", "따듯한생강", "숙면토마토", "릴랙스카카오", "맛있는꼬리", "연둣빛대두"
+    };
+
+    private OcrImage raw;
+    private ImagePreprocessor preprocessor;
+    private OcrEngine engine;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Wire {
+        public long bytesOnWire;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesOnWire = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        raw = OcrImageReader.of(screenshot());
+        preprocessor = new ImagePreprocessor(CropProfile.parseAll("2.17=0.12,0.96,0,1"), 720);
+        engine = ReplayOcrEngine.fromResources(ReplayOcrEngine.DEFAULT_FIXTURES, 0, LATENCY_PER_MB_MS);
+    }
+
+    @Benchmark
+    public OcrImage preprocessOnly(Wire wire) {
+        OcrImage processed = preprocessor.process(raw);
+        wire.bytesOnWire += processed.size();
+        return processed;
+    }
+
+    @Benchmark
+    public String rawEndToEnd(Wire wire) {
+        wire.bytesOnWire += raw.size();
+        return engine.recognize(raw);
+    }
+
+    @Benchmark
+    public String preprocessedEndToEnd(Wire wire) {
+        OcrImage processed = preprocessor.process(raw);
+        wire.bytesOnWire += processed.size();
+        return engine.recognize(processed);
+    }
+
+    // 가방 화면 흉내: 그라데이션 배경 + 아이콘 + 이름/수량 텍스트
+    private static byte[] screenshot() throws IOException {
+        BufferedImage img = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setPaint(new GradientPaint(0, 0, new Color(0xFFF4D6), 0, HEIGHT, new Color(0xD6F0FF)));
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+            g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 42));
+
+            int cell = WIDTH / 3;
+            for (int i = 0; i < NAMES.length; i++) {
+                int x = (i % 3) * cell;
+                int y = 380 + (i / 3) * 380;
+                g.setColor(Color.getHSBColor(i / (float) NAMES.length, 0.6f, 0.9f));
+                g.fillRoundRect(x + 60, y, cell - 120, 220, 40, 40);
+                g.setColor(Color.DARK_GRAY);
+                g.drawString("x" + (3 + i * 7 % 40), x + 80, y + 270);
+                g.drawString(NAMES[i], x + 60, y + 320);
+            }
+            g.drawString(OcrTextParser.END_ANCHOR, WIDTH / 2 - 80, HEIGHT - 140);
+        } finally {
+            g.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "png", out);
+        return out.toByteArray();
+    }
+}
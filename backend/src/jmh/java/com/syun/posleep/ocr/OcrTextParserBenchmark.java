@@ -0,0 +1,100 @@
+package com.syun.posleep.ocr;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 녹화된 스크린샷 OCR 텍스트(ocr/replay/*.txt) 파싱 비용 비교 (-prof gc 로 할당량 확인)
+ * - legacyRegex : 기존 IngredientOcrService.parseNameCounts (split + stream + replaceAll)
+ * - singlePass  : OcrTextParser
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OcrTextParserBenchmark {
+
+    private static final Pattern COUNT_LINE = Pattern.compile("^[xX]\\s*(\\d{1,3})$");
+    private static final Pattern KOREAN_NAME = Pattern.compile(".*[가-힣].*");
+
+    private String[] texts;
+
+    @Setup
+    public void setup() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(ReplayOcrEngine.DEFAULT_FIXTURES);
+        texts = new String[resources.length];
+        for (int i = 0; i < resources.length; i++) {
+            texts[i] = resources[i].getContentAsString(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole bh) {
+        for (String text : texts) {
+            bh.consume(legacyParse(text));
+        }
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole bh) {
+        for (String text : texts) {
+            bh.consume(OcrTextParser.parse(text));
+        }
+    }
+
+    /* --- 기존 구현 --- */
+
+    private static Map<String, Integer> legacyParse(String fullText) {
+        Deque<Integer> counts = new ArrayDeque<>();
+        Deque<String> names = new ArrayDeque<>();
+        Map<String, Integer> result = new LinkedHashMap<>();
+
+        List<String> rawLines = Arrays.stream(fullText.split("\\R"))
+                .map(String::trim)
+                .toList();
+        int startIdx = 0;
+        for (int i = 0; i < rawLines.size(); i++) {
+            if (!rawLines.get(i).isEmpty() && rawLines.get(i).charAt(0) == 'x') {
+                startIdx = i;
+                break;
+            }
+        }
+        int endIdx = rawLines.size();
+        for (int i = startIdx; i < rawLines.size(); i++) {
+            if (OcrTextParser.END_ANCHOR.equals(rawLines.get(i))) {
+                endIdx = i;
+                break;
+            }
+        }
+
+        for (String raw : rawLines.subList(startIdx, endIdx)) {
+            String line = raw.trim()
+                    .replaceAll("^[※+↑\\-\\s]+", "")
+                    .replaceAll("[※+↑\\-\\s]+$", "");
+            if (line.isEmpty()) continue;
+
+            Matcher m = COUNT_LINE.matcher(line);
+            if (m.matches()) {
+                counts.addLast(Integer.parseInt(m.group(1)));
+            }
+            if (KOREAN_NAME.matcher(line).matches()
+                    && line.length() >= 2 && line.length() <= 20
+                    && !COUNT_LINE.matcher(line).matches()
+                    && line.split(" ").length <= 1) {
+                names.addLast(line);
+            }
+            while (!counts.isEmpty() && !names.isEmpty()) {
+                result.put(names.removeFirst(), counts.removeFirst());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package com.syun.posleep.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 1건당 토큰 검증 비용 비교
+ * - legacyDoubleParse : 기존 흐름 (validateToken + getUsername, 호출마다 파서 생성 + 서명 검증)
+ * - singleParse       : 재사용 파서로 한 번만 검증
+ * - cachedVerify      : 검증 캐시 hit
+ * - createToken / parseClaims : 발급, 캐시 없는 서명 검증 단독 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "THIS_IS_VERY_SECRET_KEY_CHANGE_ME_ABCDEF1234567890";
+
+    private Key key;
+    private JwtTokenCodec uncached;
+    private JwtTokenCodec cached;
+    private String token;
+
+    @Setup
+    public void setup() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        uncached = new JwtTokenCodec(key, 86_400_000L, 0, 0);
+        cached = new JwtTokenCodec(key, 86_400_000L, 10_000, 300_000L);
+        token = cached.createToken(1, "bench-user", "ROLE_USER", 0);
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public void legacyDoubleParse(Blackhole bh) {
+        Claims validated = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        Claims forUsername = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        bh.consume(validated);
+        bh.consume(forUsername.getSubject());
+    }
+
+    @Benchmark
+    public String createToken() {
+        return cached.createToken(1, "bench-user", "ROLE_USER", 0);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return uncached.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Claims cachedVerify() {
+        return cached.verify(token);
+    }
+}
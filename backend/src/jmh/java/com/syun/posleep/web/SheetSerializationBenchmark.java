@@ -0,0 +1,145 @@
+package com.syun.posleep.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syun.posleep.catalog.CatalogFixtures;
+import com.syun.posleep.catalog.CatalogSnapshot;
+import com.syun.posleep.dto.response.ApiResponse;
+import com.syun.posleep.dto.response.CompactRecipeSheetResponse;
+import com.syun.posleep.query.IngredientSheetRow;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시트 응답 Jackson 직렬화 비용/크기 (Spring 과 같은 ObjectMapper 설정)
+ * - recipeRows     : GET /recipes (RecipeSheetRow, 카테고리/식재료 이름 반복)
+ * - recipeItems    : GET /recipes/sheet (RecipeSheetItem)
+ * - recipeCompact  : GET /recipes?format=compact (id/숫자 배열)
+ * - ingredientRows : GET /ingredients (IngredientSheetRow)
+ * 응답 크기는 @AuxCounters(payloadBytes) 로 같이 기록된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SheetSerializationBenchmark {
+
+    @Param({ "70", "300" })
+    public int recipes;
+
+    private ObjectMapper mapper;
+    private ApiResponse<?> recipeRows;
+    private ApiResponse<?> recipeItems;
+    private ApiResponse<?> recipeCompact;
+    private ApiResponse<?> ingredientRows;
+
+    // 마지막으로 직렬화한 응답 크기 (iteration 끝에 읽힘)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        CatalogSnapshot catalog = CatalogFixtures.catalog(recipes, 20, 42);
+        int[] quantities = CatalogFixtures.quantities(catalog, 7);
+        boolean[] registered = CatalogFixtures.flags(catalog, 11, 50);
+        boolean[] target = CatalogFixtures.flags(catalog, 13, 20);
+
+        recipeRows = ApiResponse.success(catalog.toSheet(quantities, registered, target));
+        recipeItems = ApiResponse.success(catalog.toSheetItems(quantities, registered, target));
+
+        int[] recipeIds = new int[catalog.size()];
+        int[] flags = new int[catalog.size()];
+        for (int i = 0; i < catalog.size(); i++) {
+            recipeIds[i] = catalog.recipeId(i);
+            if (registered[i]) flags[i] |= CompactRecipeSheetResponse.FLAG_REGISTERED;
+            if (target[i]) flags[i] |= CompactRecipeSheetResponse.FLAG_TARGET;
+        }
+        recipeCompact = ApiResponse.success(new CompactRecipeSheetResponse(
+                catalog.version(), recipeIds, flags, catalog.requirements(quantities)));
+
+        Random random = new Random(3);
+        List<IngredientSheetRow> ingredients = new ArrayList<>();
+        for (int id = 1; id <= catalog.maxIngredientId(); id++) {
+            ingredients.add(new Row(id, catalog.ingredientName(id), random.nextBoolean(),
+                    quantities[id], random.nextInt(4) == 0 ? null : random.nextInt(200)));
+        }
+        ingredientRows = ApiResponse.success(ingredients);
+    }
+
+    @Benchmark
+    public byte[] recipeRows(Payload payload) throws JsonProcessingException {
+        return write(recipeRows, payload);
+    }
+
+    @Benchmark
+    public byte[] recipeItems(Payload payload) throws JsonProcessingException {
+        return write(recipeItems, payload);
+    }
+
+    @Benchmark
+    public byte[] recipeCompact(Payload payload) throws JsonProcessingException {
+        return write(recipeCompact, payload);
+    }
+
+    @Benchmark
+    public byte[] ingredientRows(Payload payload) throws JsonProcessingException {
+        return write(ingredientRows, payload);
+    }
+
+    private byte[] write(Object value, Payload payload) throws JsonProcessingException {
+        byte[] json = mapper.writeValueAsBytes(value);
+        payload.payloadBytes = json.length;
+        return json;
+    }
+
+    // native query 프로젝션과 같은 getter
+    private static final class Row implements IngredientSheetRow {
+        private final Integer id;
+        private final String name;
+        private final boolean isRegistered;
+        private final Integer quantity;
+        private final Integer targetQuantity;
+
+        private Row(Integer id, String name, boolean isRegistered, Integer quantity, Integer targetQuantity) {
+            this.id = id;
+            this.name = name;
+            this.isRegistered = isRegistered;
+            this.quantity = quantity;
+            this.targetQuantity = targetQuantity;
+        }
+
+        @Override
+        public Integer getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean getIsRegistered() {
+            return isRegistered;
+        }
+
+        @Override
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public Integer getTargetQuantity() {
+            return targetQuantity;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.syun.posleep.aspects;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 컨트롤러/서비스 호출 계측.
+ * - 서비스 메서드: 지연 히스토그램(Timer, prometheus bucket), 실행 중 호출 수(gauge), 예외 타입별 에러 카운터
+ * - 엔드포인트 지연은 actuator 의 http.server.requests 가 uri 템플릿 단위로 기록한다
+ * 로그는 느린 호출(posleep.logging.slow-ms 이상)과 샘플링(posleep.logging.sample-rate)된 호출만 남긴다.
+ */
+@Slf4j
+@Aspect
+@Component
+public class ApiMetricsAspect {
+
+    static final String SERVICE_TIMER = "posleep.service.calls";
+    static final String SERVICE_IN_FLIGHT = "posleep.service.in.flight";
+    static final String SERVICE_ERRORS = "posleep.service.errors";
+
+    private final MeterRegistry registry;
+    private final long slowNanos;
+    private final double sampleRate;
+
+    // 메서드별 meter (호출마다 registry 조회/태그 생성을 하지 않도록)
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+    // 오버로드된 메서드는 같은 태그라 meter 를 공유한다
+    private final Map<String, MethodMeters> metersByName = new ConcurrentHashMap<>();
+
+    public ApiMetricsAspect(MeterRegistry registry,
+                            @Value("${posleep.logging.slow-ms:500}") long slowMs,
+                            @Value("${posleep.logging.sample-rate:0.0}") double sampleRate) {
+        this.registry = registry;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+        this.sampleRate = sampleRate;
+    }
+
+    @Pointcut("execution(* com.syun.posleep.web..*(..))")
+    public void controller() {
+    }
+    @Pointcut("execution(* com.syun.posleep.service..*(..))")
+    public void service(){}
+
+    @Around("controller()")
+    public Object logRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= slowNanos) {
+                log.warn("[{}]\tSlow Request\t<<< '{}' {}ms", method(), uri(), toMillis(elapsed));
+            } else if (sampled()) {
+                log.info("[{}]\tRequest Success\t<<< '{}' {}ms", method(), uri(), toMillis(elapsed));
+            }
+            return result;
+        } catch (Throwable e) {
+            // 스택 트레이스는 예외 처리기/컨테이너가 남긴다
+            log.warn("!!! [{}]\tRequest Failed\t<<< '{}' {}ms, {}", method(), uri(), toMillis(System.nanoTime() - start), e.toString());
+            throw e;
+        }
+    }
+
+    @Around("service()")
+    public Object measureService(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters m = meters.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::register);
+
+        m.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            m.errors(e.getClass()).increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            m.inFlight.decrementAndGet();
+            m.timer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed >= slowNanos) {
+                log.warn("[{}] Slow Method\t>>> '{}' {}ms", m.className, m.fullName, toMillis(elapsed));
+            }
+        }
+    }
+
+    /* ====== Helper ====== */
+
+    private MethodMeters register(Method method) {
+        String className = method.getDeclaringClass().getSimpleName();
+        return metersByName.computeIfAbsent(className + "." + method.getName(),
+                name -> newMeters(className, method.getName()));
+    }
+
+    private MethodMeters newMeters(String className, String methodName) {
+        Timer timer = Timer.builder(SERVICE_TIMER)
+                .tags("class", className, "method", methodName)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder(SERVICE_IN_FLIGHT, inFlight, AtomicInteger::get)
+                .tags("class", className, "method", methodName)
+                .register(registry);
+        return new MethodMeters(className, methodName, timer, inFlight);
+    }
+
+    private boolean sampled() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private String method() {
+        HttpServletRequest req = currentRequest();
+        return req != null ? req.getMethod() : "NULL";
+    }
+
+    private String uri() {
+        HttpServletRequest req = currentRequest();
+        return req != null ? req.getRequestURI() : "NULL";
+    }
+
+    private HttpServletRequest currentRequest() {
+        var attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs instanceof ServletRequestAttributes sra) {
+            return sra.getRequest();
+        }
+        return null;
+    }
+
+    private final class MethodMeters {
+        private final String className;
+        private final String methodName;
+        private final String fullName;
+        private final Timer timer;
+        private final AtomicInteger inFlight;
+        // 예외 타입 -> 카운터
+        private final Map<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+
+        private MethodMeters(String className, String methodName, Timer timer, AtomicInteger inFlight) {
+            this.className = className;
+            this.methodName = methodName;
+            this.fullName = className + "." + methodName;
+            this.timer = timer;
+            this.inFlight = inFlight;
+        }
+
+        private Counter errors(Class<?> type) {
+            return errors.computeIfAbsent(type, t -> Counter.builder(SERVICE_ERRORS)
+                    .tags("class", className, "method", methodName, "exception", t.getSimpleName())
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.syun.posleep.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 크기 제한 + 만료 시간이 있는 LRU 캐시.
+ * maxSize 가 0 이하이면 아무것도 저장하지 않는다 (캐시 비활성화).
+ * 잠금은 ReentrantLock (경합 시 가상 스레드가 캐리어를 붙잡지 않는다).
+ */
+public class TtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    // lock 으로 보호
+    private final LinkedHashMap<K, Entry<V>> map;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TtlCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    // 테스트에서 시계를 바꿔 끼운다
+    TtlCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > TtlCache.this.maxSize;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> e = map.get(key);
+            if (e == null) return null;
+            if (e.expiresAt <= clock.getAsLong()) {
+                map.remove(key);
+                return null;
+            }
+            return e.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) return cached;
+
+        V loaded = loader.apply(key);
+        if (loaded != null) put(key, loaded);
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param expiresAt 엔트리 만료 시각(epoch ms). 캐시 TTL 보다 늦으면 TTL 이 우선한다.
+     */
+    public void put(K key, V value, long expiresAt) {
+        if (maxSize <= 0) return;
+        long now = clock.getAsLong();
+        long deadline = Math.min(expiresAt, now + ttlMillis);
+        if (deadline <= now) return;
+        lock.lock();
+        try {
+            map.put(key, new Entry<>(value, deadline));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기존 값(만료 전)과 value 를 remapping 으로 합쳐 저장하고 만료 시간을 새로 잡는다.
+     * @return 합쳐진 값 (캐시가 비활성화면 value)
+     */
+    public V merge(K key, V value, BinaryOperator<V> remapping) {
+        if (maxSize <= 0 || ttlMillis <= 0) return value;
+        long now = clock.getAsLong();
+        lock.lock();
+        try {
+            Entry<V> e = map.get(key);
+            V merged = (e == null || e.expiresAt <= now) ? value : remapping.apply(e.value, value);
+            map.put(key, new Entry<>(merged, now + ttlMillis));
+            return merged;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.lock();
+        try {
+            map.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            map.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return map.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+}
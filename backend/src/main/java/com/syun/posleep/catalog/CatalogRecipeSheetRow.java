@@ -0,0 +1,130 @@
+package com.syun.posleep.catalog;
+
+import com.syun.posleep.query.RecipeSheetRow;
+
+/**
+ * CatalogSnapshot 으로 계산한 RecipeSheetRow 구현체.
+ * 직렬화 결과는 기존 native query 프로젝션과 동일하다.
+ */
+public final class CatalogRecipeSheetRow implements RecipeSheetRow {
+    private final Integer id;
+    private final String category;
+    private final String name;
+    private final String[] ingredients;
+    private final int[] needs;
+    private final int[] reqs;
+    private final Integer totalQuantity;
+    private final boolean isRegistered;
+    private final boolean isTarget;
+    private final Integer energy;
+
+    CatalogRecipeSheetRow(Integer id, String category, String name,
+                          String[] ingredients, int[] needs, int[] reqs,
+                          Integer totalQuantity, boolean isRegistered, boolean isTarget, Integer energy) {
+        this.id = id;
+        this.category = category;
+        this.name = name;
+        this.ingredients = ingredients;
+        this.needs = needs;
+        this.reqs = reqs;
+        this.totalQuantity = totalQuantity;
+        this.isRegistered = isRegistered;
+        this.isTarget = isTarget;
+        this.energy = energy;
+    }
+
+    @Override
+    public Integer getId() {
+        return id;
+    }
+
+    @Override
+    public String getCategory() {
+        return category;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getIngredient1() {
+        return ingredients[0];
+    }
+
+    @Override
+    public Integer getNeed1() {
+        return needs[0];
+    }
+
+    @Override
+    public Integer getReq1() {
+        return reqs[0];
+    }
+
+    @Override
+    public String getIngredient2() {
+        return ingredients[1];
+    }
+
+    @Override
+    public Integer getNeed2() {
+        return needs[1];
+    }
+
+    @Override
+    public Integer getReq2() {
+        return reqs[1];
+    }
+
+    @Override
+    public String getIngredient3() {
+        return ingredients[2];
+    }
+
+    @Override
+    public Integer getNeed3() {
+        return needs[2];
+    }
+
+    @Override
+    public Integer getReq3() {
+        return reqs[2];
+    }
+
+    @Override
+    public String getIngredient4() {
+        return ingredients[3];
+    }
+
+    @Override
+    public Integer getNeed4() {
+        return needs[3];
+    }
+
+    @Override
+    public Integer getReq4() {
+        return reqs[3];
+    }
+
+    @Override
+    public Integer getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    @Override
+    public boolean getIsRegistered() {
+        return isRegistered;
+    }
+
+    @Override
+    public boolean getIsTarget() {
+        return isTarget;
+    }
+
+    @Override
+    public Integer getEnergy() {
+        return energy;
+    }
+}
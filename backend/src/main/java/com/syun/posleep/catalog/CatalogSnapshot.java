@@ -0,0 +1,330 @@
+package com.syun.posleep.catalog;
+
+import com.syun.posleep.query.RecipeSheetRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 레시피/식재료 마스터 데이터의 불변 스냅샷.
+ * 레시피는 id 오름차순으로 정렬된 인덱스(0..size-1)로 접근하고,
+ * 레시피별 식재료는 recipe_ingredient 를 position 순으로 펼친 CSR 배열에 저장한다
+ * (레시피 i 의 식재료 = ingredientOffsets[i] .. ingredientOffsets[i + 1] - 1, 개수 제한 없음).
+ * 기존 4칸 시트(ingredient1..4)는 앞에서부터 SLOTS 개를 잘라 만든다.
+ */
+public final class CatalogSnapshot {
+    // 기존 RecipeSheetRow(ingredient1..4) 칸 수
+    public static final int SLOTS = 4;
+    public static final int NO_INGREDIENT = 0;
+    public static final int NO_ENERGY = -1;
+
+    static final CatalogSnapshot EMPTY = new Builder().build();
+
+    // 스냅샷 식별자 (로드 시각 ms, 응답 ETag 에 포함)
+    private final long version;
+
+    private final int[] recipeIds;
+    private final String[] recipeNames;
+    private final String[] categories;
+    private final int[] totalQuantities;
+    private final int[] energies;
+
+    // CSR: recipe index i 의 k 번째 식재료 -> [ingredientOffsets[i] + k]
+    private final int[] ingredientOffsets;
+    private final int[] recipeIngredientIds;
+    private final int[] recipeNeeds;
+
+    // ingredient id 로 직접 인덱싱 (빈 id 는 null)
+    private final String[] ingredientNames;
+    private final Map<String, Integer> ingredientIdsByName;
+    private final IngredientNameIndex ingredientNameIndex;
+
+    private CatalogSnapshot(Builder b) {
+        this.version = b.version;
+        int n = b.recipeIds.size();
+        this.recipeIds = new int[n];
+        this.recipeNames = new String[n];
+        this.categories = new String[n];
+        this.totalQuantities = new int[n];
+        this.energies = new int[n];
+        this.ingredientOffsets = new int[n + 1];
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (x, y) -> Integer.compare(b.recipeIds.get(x), b.recipeIds.get(y)));
+
+        int total = 0;
+        for (int[] ids : b.ingredientIdsPerRecipe) total += ids.length;
+        this.recipeIngredientIds = new int[total];
+        this.recipeNeeds = new int[total];
+
+        for (int i = 0, pos = 0; i < n; i++) {
+            int src = order[i];
+            recipeIds[i] = b.recipeIds.get(src);
+            recipeNames[i] = b.recipeNames.get(src);
+            categories[i] = b.categories.get(src);
+            totalQuantities[i] = b.totalQuantities.get(src);
+            energies[i] = b.energies.get(src);
+
+            int[] ids = b.ingredientIdsPerRecipe.get(src);
+            System.arraycopy(ids, 0, recipeIngredientIds, pos, ids.length);
+            System.arraycopy(b.needsPerRecipe.get(src), 0, recipeNeeds, pos, ids.length);
+            ingredientOffsets[i] = pos;
+            pos += ids.length;
+            ingredientOffsets[i + 1] = pos;
+        }
+
+        int maxId = 0;
+        for (int id : b.ingredientIds) maxId = Math.max(maxId, id);
+        this.ingredientNames = new String[maxId + 1];
+        this.ingredientIdsByName = new HashMap<>();
+        for (int i = 0; i < b.ingredientIds.size(); i++) {
+            ingredientNames[b.ingredientIds.get(i)] = b.ingredientNames.get(i);
+            ingredientIdsByName.put(b.ingredientNames.get(i), b.ingredientIds.get(i));
+        }
+        this.ingredientNameIndex = IngredientNameIndex.build(b.ingredientIds, b.ingredientNames);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /* --- Recipe --- */
+
+    public int size() {
+        return recipeIds.length;
+    }
+
+    public int recipeId(int index) {
+        return recipeIds[index];
+    }
+
+    /**
+     * @return recipe id 에 해당하는 인덱스, 없으면 음수
+     */
+    public int indexOf(int recipeId) {
+        return Arrays.binarySearch(recipeIds, recipeId);
+    }
+
+    public String recipeName(int index) {
+        return recipeNames[index];
+    }
+
+    public String category(int index) {
+        return categories[index];
+    }
+
+    public int totalQuantity(int index) {
+        return totalQuantities[index];
+    }
+
+    public Integer energy(int index) {
+        return energies[index] == NO_ENERGY ? null : energies[index];
+    }
+
+    /**
+     * @return 레시피 index 의 식재료 수
+     */
+    public int ingredientCount(int index) {
+        return ingredientOffsets[index + 1] - ingredientOffsets[index];
+    }
+
+    /**
+     * @param k 0 .. ingredientCount(index) - 1 (position 순)
+     */
+    public int ingredientId(int index, int k) {
+        return k < ingredientCount(index) ? recipeIngredientIds[ingredientOffsets[index] + k] : NO_INGREDIENT;
+    }
+
+    public int need(int index, int k) {
+        return k < ingredientCount(index) ? recipeNeeds[ingredientOffsets[index] + k] : 0;
+    }
+
+    /* --- Ingredient --- */
+
+    public String ingredientName(int ingredientId) {
+        if (ingredientId <= 0 || ingredientId >= ingredientNames.length) return null;
+        return ingredientNames[ingredientId];
+    }
+
+    /**
+     * @return 이름이 정확히 일치하는 식재료 id, 없으면 null
+     */
+    public Integer findIngredientId(String name) {
+        return ingredientIdsByName.get(name);
+    }
+
+    /**
+     * 정확히 일치하는 이름이 없으면 자모 편집 거리로 가장 가까운 식재료를 찾는다 (OCR 오인식 보정)
+     * @return 매칭 결과, 허용 거리 안에 후보가 없으면 null
+     */
+    public NameMatch resolveIngredient(String name) {
+        Integer exact = ingredientIdsByName.get(name);
+        if (exact != null) return new NameMatch(exact, name, 0, 1.0, List.of(), List.of());
+        return ingredientNameIndex.resolve(name);
+    }
+
+    public boolean hasIngredient(int ingredientId) {
+        return ingredientName(ingredientId) != null;
+    }
+
+    /**
+     * ingredient id 로 인덱싱하는 보유 수량 배열 (user_ingredient 행이 없으면 0)
+     */
+    public int[] newQuantityArray() {
+        return new int[ingredientNames.length];
+    }
+
+    public boolean hasIngredientSlot(int ingredientId) {
+        return ingredientId >= 0 && ingredientId < ingredientNames.length;
+    }
+
+    /**
+     * @return 식재료 id 최댓값 (1..maxIngredientId 중 hasIngredient 인 것만 유효)
+     */
+    public int maxIngredientId() {
+        return ingredientNames.length - 1;
+    }
+
+    /* --- Sheet --- */
+
+    /**
+     * 유저 보유 수량/플래그로 레시피 시트를 계산한다 (식재료 개수 제한 없는 목록 형태).
+     * @param quantities    newQuantityArray() 로 만든 ingredient id 별 보유 수량
+     * @param registered    recipe index 별 등록 여부
+     * @param target        recipe index 별 목표 여부
+     */
+    public List<RecipeSheetItem> toSheetItems(int[] quantities, boolean[] registered, boolean[] target) {
+        int n = size();
+        List<RecipeSheetItem> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int count = ingredientCount(i);
+            List<RecipeSheetItem.Ingredient> ingredients = new ArrayList<>(count);
+            for (int k = 0; k < count; k++) {
+                int ingredientId = ingredientId(i, k);
+                int need = need(i, k);
+                int have = hasIngredientSlot(ingredientId) ? quantities[ingredientId] : 0;
+                ingredients.add(new RecipeSheetItem.Ingredient(
+                        ingredientId, ingredientName(ingredientId), need, Math.max(0, need - have)));
+            }
+            items.add(new RecipeSheetItem(
+                    recipeIds[i], categories[i], recipeNames[i], ingredients,
+                    totalQuantities[i], registered[i], target[i], energy(i)));
+        }
+        return items;
+    }
+
+    /**
+     * 레시피 식재료별 부족 수량 (CSR 순서 그대로, 압축 시트용)
+     * @param quantities    newQuantityArray() 로 만든 ingredient id 별 보유 수량
+     */
+    public int[] requirements(int[] quantities) {
+        int[] reqs = new int[recipeNeeds.length];
+        for (int p = 0; p < reqs.length; p++) {
+            int ingredientId = recipeIngredientIds[p];
+            int have = hasIngredientSlot(ingredientId) ? quantities[ingredientId] : 0;
+            reqs[p] = Math.max(0, recipeNeeds[p] - have);
+        }
+        return reqs;
+    }
+
+    /**
+     * 유저 보유 수량/플래그로 기존 4칸 레시피 시트를 계산한다.
+     * @param quantities    newQuantityArray() 로 만든 ingredient id 별 보유 수량
+     * @param registered    recipe index 별 등록 여부
+     * @param target        recipe index 별 목표 여부
+     */
+    public List<RecipeSheetRow> toSheet(int[] quantities, boolean[] registered, boolean[] target) {
+        int n = size();
+        List<RecipeSheetRow> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String[] names = new String[SLOTS];
+            int[] needs = new int[SLOTS];
+            int[] reqs = new int[SLOTS];
+            for (int s = 0; s < SLOTS; s++) {
+                int ingredientId = ingredientId(i, s);
+                int need = need(i, s);
+                String name = ingredientName(ingredientId);
+
+                names[s] = name;
+                needs[s] = need;
+                reqs[s] = (name != null && need > quantities[ingredientId]) ? need - quantities[ingredientId] : 0;
+            }
+            rows.add(new CatalogRecipeSheetRow(
+                    recipeIds[i], categories[i], recipeNames[i],
+                    names, needs, reqs,
+                    totalQuantities[i], registered[i], target[i], energy(i)
+            ));
+        }
+        return rows;
+    }
+
+    /* --- Builder --- */
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final List<Integer> recipeIds = new ArrayList<>();
+        private final List<String> recipeNames = new ArrayList<>();
+        private final List<String> categories = new ArrayList<>();
+        private final List<Integer> totalQuantities = new ArrayList<>();
+        private final List<Integer> energies = new ArrayList<>();
+        private final List<int[]> ingredientIdsPerRecipe = new ArrayList<>();
+        private final List<int[]> needsPerRecipe = new ArrayList<>();
+
+        private final List<Integer> ingredientIds = new ArrayList<>();
+        private final List<String> ingredientNames = new ArrayList<>();
+        private long version;
+
+        private Builder() {}
+
+        public Builder version(long version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder ingredient(int id, String name) {
+            ingredientIds.add(id);
+            ingredientNames.add(intern(name));
+            return this;
+        }
+
+        /**
+         * @param ingredientIds position 순 식재료 id (null 또는 0 은 건너뜀)
+         * @param needs         식재료별 필요 수량 (null 은 0)
+         */
+        public Builder recipe(int id, String name, String category, Integer totalQuantity, Integer energy,
+                              Integer[] ingredientIds, Integer[] needs) {
+            int[] ids = new int[ingredientIds.length];
+            int[] ns = new int[ingredientIds.length];
+            int count = 0;
+            for (int k = 0; k < ingredientIds.length; k++) {
+                if (ingredientIds[k] == null || ingredientIds[k] == NO_INGREDIENT) continue;
+                ids[count] = ingredientIds[k];
+                ns[count] = needs[k] == null ? 0 : needs[k];
+                count++;
+            }
+            recipeIds.add(id);
+            recipeNames.add(intern(name));
+            categories.add(intern(category));
+            totalQuantities.add(totalQuantity == null ? 0 : totalQuantity);
+            energies.add(energy == null ? NO_ENERGY : energy);
+            ingredientIdsPerRecipe.add(Arrays.copyOf(ids, count));
+            needsPerRecipe.add(Arrays.copyOf(ns, count));
+            return this;
+        }
+
+        public CatalogSnapshot build() {
+            return new CatalogSnapshot(this);
+        }
+
+        private static String intern(String s) {
+            return s == null ? null : s.intern();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.syun.posleep.catalog;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 식재료 이름 BK-tree (한글은 초성/중성/종성 자모로 분해해 편집 거리를 잰다).
+ * OCR 이 음절 하나를 잘못 읽어도(예: 굵은대파 -> 굵은대과) 가장 가까운 이름을 찾는다.
+ * 카탈로그 스냅샷마다 한 번 만들고 불변으로 공유한다.
+ */
+public final class IngredientNameIndex {
+
+    // 허용 편집 거리 상한 (자모 기준)
+    static final int MAX_DISTANCE = 3;
+    // 자모 몇 개당 거리 1 을 허용할지
+    static final int JAMO_PER_EDIT = 3;
+
+    private static final int HANGUL_BASE = 0xAC00;
+    private static final int HANGUL_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private final Node root;
+    private final int size;
+
+    private IngredientNameIndex(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static IngredientNameIndex build(List<Integer> ids, List<String> names) {
+        Node root = null;
+        int size = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            String name = names.get(i);
+            if (name == null || name.isEmpty()) continue;
+
+            Node node = new Node(ids.get(i), name, decompose(name));
+            if (root == null) {
+                root = node;
+            } else {
+                insert(root, node);
+            }
+            size++;
+        }
+        return new IngredientNameIndex(root, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 허용 거리 안에서 가장 가까운 식재료, 없으면 null
+     */
+    public NameMatch resolve(String token) {
+        if (root == null || token == null || token.isEmpty()) return null;
+
+        int[] key = decompose(token);
+        int maxDistance = Math.min(MAX_DISTANCE, Math.max(1, key.length / JAMO_PER_EDIT));
+
+        Node best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        List<Node> ties = new ArrayList<>();
+
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            // 현재 최선보다 먼 후보는 필요 없으므로 bound 를 좁혀 간다
+            int bound = Math.min(maxDistance, bestDistance);
+            // 가지치기(삼각 부등식)에 정확한 거리가 필요하므로 중간에 끊지 않는다
+            int d = distance(key, node.jamo);
+
+            if (d <= bound) {
+                if (d < bestDistance) {
+                    ties.clear();
+                    best = node;
+                    bestDistance = d;
+                } else if (d == bestDistance) {
+                    ties.add(node);
+                }
+            }
+
+            if (node.children == null) continue;
+            for (Map.Entry<Integer, Node> e : node.children.entrySet()) {
+                int edge = e.getKey();
+                if (edge >= d - bound && edge <= d + bound) {
+                    stack.push(e.getValue());
+                }
+            }
+        }
+
+        if (best == null) return null;
+        double confidence = 1.0 - (double) bestDistance / Math.max(key.length, best.jamo.length);
+        List<String> tieNames = new ArrayList<>(ties.size());
+        List<Integer> tieIds = new ArrayList<>(ties.size());
+        for (Node t : ties) {
+            tieNames.add(t.name);
+            tieIds.add(t.id);
+        }
+        return new NameMatch(best.id, best.name, bestDistance, confidence, List.copyOf(tieNames), List.copyOf(tieIds));
+    }
+
+    private static void insert(Node root, Node node) {
+        Node cur = root;
+        while (true) {
+            int d = distance(node.jamo, cur.jamo);
+            if (d == 0) return; // 같은 이름은 첫 번째만
+            if (cur.children == null) cur.children = new HashMap<>();
+            Node child = cur.children.get(d);
+            if (child == null) {
+                cur.children.put(d, node);
+                return;
+            }
+            cur = child;
+        }
+    }
+
+    /**
+     * 한글 음절은 초성/중성/(종성) 자모 코드로, 나머지 문자는 그대로
+     */
+    static int[] decompose(String s) {
+        int[] out = new int[s.length() * 3];
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                int idx = c - HANGUL_BASE;
+                out[n++] = 0x1100 + idx / (JUNG_COUNT * JONG_COUNT);
+                out[n++] = 0x1161 + (idx % (JUNG_COUNT * JONG_COUNT)) / JONG_COUNT;
+                int jong = idx % JONG_COUNT;
+                if (jong > 0) out[n++] = 0x11A7 + jong;
+            } else {
+                out[n++] = c;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // Levenshtein 거리 (두 행만 사용)
+    static int distance(int[] a, int[] b) {
+        int[] prev = new int[b.length + 1];
+        int[] cur = new int[b.length + 1];
+        for (int j = 0; j <= b.length; j++) prev[j] = j;
+
+        for (int i = 1; i <= a.length; i++) {
+            cur[0] = i;
+            for (int j = 1; j <= b.length; j++) {
+                int cost = a[i - 1] == b[j - 1] ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return prev[b.length];
+    }
+
+    private static final class Node {
+        private final int id;
+        private final String name;
+        private final int[] jamo;
+        private Map<Integer, Node> children;
+
+        private Node(int id, String name, int[] jamo) {
+            this.id = id;
+            this.name = name;
+            this.jamo = jamo;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.syun.posleep.catalog;
+
+import java.util.List;
+
+/**
+ * OCR 토큰 -> 식재료 이름 매칭 결과
+ * @param ingredientId  가장 가까운 식재료 id
+ * @param name          가장 가까운 식재료 이름
+ * @param distance      자모 단위 편집 거리 (0 이면 정확히 일치)
+ * @param confidence    1 - distance / max(자모 길이), 0~1
+ * @param ambiguities   같은 거리의 다른 후보 이름 (비어 있지 않으면 판단 보류)
+ * @param ambiguityIds  ambiguities 와 같은 순서의 식재료 id
+ */
+public record NameMatch(
+        int ingredientId,
+        String name,
+        int distance,
+        double confidence,
+        List<String> ambiguities,
+        List<Integer> ambiguityIds
+) {
+    public boolean isExact() {
+        return distance == 0;
+    }
+
+    public boolean isAmbiguous() {
+        return !ambiguities.isEmpty();
+    }
+}
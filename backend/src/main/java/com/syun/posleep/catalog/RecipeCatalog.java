@@ -0,0 +1,96 @@
+package com.syun.posleep.catalog;
+
+import com.syun.posleep.domain.Ingredient;
+import com.syun.posleep.domain.Recipe;
+import com.syun.posleep.query.RecipeIngredientRow;
+import com.syun.posleep.repository.IngredientRepository;
+import com.syun.posleep.repository.RecipeQueryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * recipe / ingredient 마스터 데이터를 기동 시 한 번 읽어 메모리에 들고 있는 카탈로그.
+ * 게임 업데이트로 마스터 데이터가 바뀌면 RecipeCatalogEndpoint (POST /actuator/catalog) 가 reload() 로 스냅샷을 교체한다.
+ * 레시피 식재료는 recipe_ingredient 를 기준으로 읽고, 정규화 행이 없는 레시피만 기존 고정 컬럼(ingredient_id1..4)을 쓴다.
+ */
+@Slf4j
+@Component
+public class RecipeCatalog {
+
+    private final RecipeQueryRepository recipeQueryRepository;
+    private final IngredientRepository ingredientRepository;
+
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+
+    // reload 직렬화. 안에서 DB 를 읽으므로 monitor 대신 lock (JDK 21 가상 스레드 pinning)
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public RecipeCatalog(RecipeQueryRepository recipeQueryRepository,
+                         IngredientRepository ingredientRepository) {
+        this.recipeQueryRepository = recipeQueryRepository;
+        this.ingredientRepository = ingredientRepository;
+    }
+
+    @PostConstruct
+    protected void init() {
+        reload();
+    }
+
+    public CatalogSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public void reload() {
+        reloadLock.lock();
+        try {
+            load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void load() {
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder()
+                .version(Math.max(System.currentTimeMillis(), snapshot.version() + 1));
+
+        for (Ingredient i : ingredientRepository.findAll()) {
+            builder.ingredient(i.getId(), i.getName());
+        }
+
+        // recipe id -> position 순 식재료 행
+        Map<Integer, List<RecipeIngredientRow>> normalized = new HashMap<>();
+        for (RecipeIngredientRow row : recipeQueryRepository.findAllRecipeIngredientRows()) {
+            normalized.computeIfAbsent(row.getRecipeId(), k -> new ArrayList<>()).add(row);
+        }
+
+        int legacy = 0;
+        for (Recipe r : recipeQueryRepository.findAll(Sort.by("id"))) {
+            List<RecipeIngredientRow> rows = normalized.get(r.getId());
+            if (rows != null) {
+                Integer[] ids = new Integer[rows.size()];
+                Integer[] needs = new Integer[rows.size()];
+                for (int k = 0; k < rows.size(); k++) {
+                    ids[k] = rows.get(k).getIngredientId();
+                    needs[k] = rows.get(k).getQuantity();
+                }
+                builder.recipe(r.getId(), r.getName(), r.getCategory(), r.getTotalQuantity(), r.getEnergy(), ids, needs);
+            } else {
+                legacy++;
+                builder.recipe(r.getId(), r.getName(), r.getCategory(), r.getTotalQuantity(), r.getEnergy(),
+                        new Integer[]{ r.getIngredientId1(), r.getIngredientId2(), r.getIngredientId3(), r.getIngredientId4() },
+                        new Integer[]{ r.getNeed1(), r.getNeed2(), r.getNeed3(), r.getNeed4() });
+            }
+        }
+
+        this.snapshot = builder.build();
+        log.info("[RecipeCatalog] {}개 레시피 로드 (고정 컬럼 {}개)", snapshot.size(), legacy);
+    }
+}
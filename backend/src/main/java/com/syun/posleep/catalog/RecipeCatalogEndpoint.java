@@ -0,0 +1,38 @@
+package com.syun.posleep.catalog;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 카탈로그 관리 엔드포인트 (management 포트, 외부 비공개).
+ * 마스터 데이터를 DB 에 반영한 뒤 인스턴스마다 POST /actuator/catalog 로 스냅샷을 교체한다.
+ */
+@Component
+@Endpoint(id = "catalog")
+public class RecipeCatalogEndpoint {
+
+    private final RecipeCatalog recipeCatalog;
+
+    public RecipeCatalogEndpoint(RecipeCatalog recipeCatalog) {
+        this.recipeCatalog = recipeCatalog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> catalog() {
+        return describe(recipeCatalog.snapshot());
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() {
+        recipeCatalog.reload();
+        return describe(recipeCatalog.snapshot());
+    }
+
+    private static Map<String, Object> describe(CatalogSnapshot snapshot) {
+        return Map.of("version", snapshot.version(), "recipes", snapshot.size());
+    }
+}
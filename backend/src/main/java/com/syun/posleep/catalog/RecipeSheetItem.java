@@ -0,0 +1,29 @@
+package com.syun.posleep.catalog;
+
+import java.util.List;
+
+/**
+ * 식재료 개수 제한 없는 레시피 시트 행 (GET /recipes/sheet)
+ * @param ingredients   position 순 식재료
+ */
+public record RecipeSheetItem(
+        Integer id,
+        String category,
+        String name,
+        List<Ingredient> ingredients,
+        Integer totalQuantity,
+        boolean isRegistered,
+        boolean isTarget,
+        Integer energy
+) {
+    /**
+     * @param need  필요 수량
+     * @param req   부족 수량 (보유가 충분하면 0)
+     */
+    public record Ingredient(
+            int id,
+            String name,
+            int need,
+            int req
+    ) {}
+}
@@ -0,0 +1,36 @@
+package com.syun.posleep.config;
+
+import com.syun.posleep.jdbc.SqlStatementListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource 를 datasource-proxy 로 감싸 SQL 실행 횟수/시간을 센다
+ * (JPA, JdbcTemplate 모두 같은 커넥션 풀을 쓰므로 한 곳에서 잡힌다).
+ */
+@Configuration
+@ConditionalOnProperty(name = "posleep.sql.count-statements", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource ds && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(ds)
+                            .name(beanName)
+                            .listener(new SqlStatementListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.syun.posleep.config;
+
+import com.syun.posleep.ocr.BatchingOcrEngine;
+import com.syun.posleep.ocr.CropProfile;
+import com.syun.posleep.ocr.ImagePreprocessor;
+import com.syun.posleep.ocr.OcrEngine;
+import com.syun.posleep.ocr.ReplayOcrEngine;
+import com.syun.posleep.ocr.VisionOcrEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ocr.engine = vision | replay
+ * ocr.batch.enabled 이면 동시 요청을 모아 한 번에 보내는 BatchingOcrEngine 으로 감싼다.
+ * ocr.preprocess.enabled 이면 OCR 호출 전에 이미지를 자르고 줄인다.
+ */
+@Configuration
+public class OcrEngineConfig {
+
+    @Value("${ocr.engine:vision}")
+    private String engine;
+
+    @Value("${ocr.replay.fixtures:" + ReplayOcrEngine.DEFAULT_FIXTURES + "}")
+    private String replayFixtures;
+
+    @Value("${ocr.replay.latency-ms:0}")
+    private long replayLatencyMs;
+
+    @Value("${ocr.replay.latency-per-mb-ms:0}")
+    private long replayLatencyPerMbMs;
+
+    @Value("${ocr.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${ocr.batch.max-size:" + VisionOcrEngine.MAX_BATCH_SIZE + "}")
+    private int batchMaxSize;
+
+    @Value("${ocr.batch.window-ms:50}")
+    private long batchWindowMs;
+
+    @Value("${ocr.batch.timeout-ms:30000}")
+    private long batchTimeoutMs;
+
+    @Value("${ocr.batch.concurrency:4}")
+    private int batchConcurrency;
+
+    @Bean
+    public OcrEngine ocrEngine() {
+        OcrEngine base = switch (engine.toLowerCase()) {
+            case "vision" -> new VisionOcrEngine();
+            case "replay" -> ReplayOcrEngine.fromResources(replayFixtures, replayLatencyMs, replayLatencyPerMbMs);
+            default -> throw new IllegalArgumentException("지원하지 않는 ocr.engine: " + engine);
+        };
+        return batchEnabled
+                ? new BatchingOcrEngine(base, batchMaxSize, batchWindowMs, batchTimeoutMs, batchConcurrency)
+                : base;
+    }
+
+    /**
+     * @return 전처리기, ocr.preprocess.enabled=false 이면 원본을 그대로 돌려주는 no-op
+     */
+    @Bean
+    public ImagePreprocessor imagePreprocessor(@Value("${ocr.preprocess.enabled:false}") boolean enabled,
+                                               @Value("${ocr.preprocess.profiles:}") String profiles,
+                                               @Value("${ocr.preprocess.max-width:720}") int maxWidth,
+                                               @Value("${ocr.preprocess.max-pixels:" + ImagePreprocessor.DEFAULT_MAX_PIXELS + "}") long maxPixels) {
+        return enabled
+                ? new ImagePreprocessor(CropProfile.parseAll(profiles), maxWidth, maxPixels)
+                : ImagePreprocessor.NONE;
+    }
+}
@@ -0,0 +1,54 @@
+package com.syun.posleep.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * OCR 작업 전용 executor.
+ * 큐가 가득 차면 TaskRejectedException 을 던지고 (AbortPolicy), 컨트롤러가 503 으로 응답한다.
+ * spring.threads.virtual.enabled 이면 작업마다 가상 스레드를 쓰고,
+ * 동시 실행 수가 virtual-concurrency-limit 에 닿으면 같은 방식으로 거절한다.
+ */
+@Configuration
+public class OcrExecutorConfig {
+
+    @Value("${ocr.executor.pool-size:2}")
+    private int poolSize;
+
+    @Value("${ocr.executor.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${ocr.executor.virtual-concurrency-limit:0}")
+    private int virtualConcurrencyLimit;
+
+    @Bean(name = "ocrExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor ocrExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ocr-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "ocrExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualOcrExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ocr-v-");
+        executor.setVirtualThreads(true);
+        // 큐가 없으므로 플랫폼 모드의 실행 + 대기 자리만큼 동시에 돌린다 (Vision 호출 동시성 상한)
+        executor.setConcurrencyLimit(virtualConcurrencyLimit > 0 ? virtualConcurrencyLimit : poolSize + queueCapacity);
+        executor.setRejectTasksWhenLimitReached(true);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
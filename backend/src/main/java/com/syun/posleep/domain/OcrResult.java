@@ -0,0 +1,35 @@
+package com.syun.posleep.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이미지 digest 별 OCR 파싱 결과 (ocr.cache.persist=true 일 때만 사용)
+ */
+@Entity
+@Table(name = "ocr_result_cache")
+@Getter
+@NoArgsConstructor
+public class OcrResult {
+
+    // SHA-256 hex
+    @Id
+    @Column(length = 64)
+    private String digest;
+
+    // 식재료 이름 -> 수량 (JSON)
+    @Column(name = "result_json", nullable = false, columnDefinition = "TEXT")
+    private String resultJson;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public OcrResult(String digest, String resultJson) {
+        this.digest = digest;
+        this.resultJson = resultJson;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -25,6 +25,13 @@ public class User {
     @Column(length = 50, nullable = false)
     private String role = "ROLE_USER";
 
+    @Column(name = "token_version", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer tokenVersion = 0;
+
+    // 유저 데이터(식재료/레시피/냄비) 변경마다 증가 (시트 ETag)
+    @Column(name = "data_version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long dataVersion = 0L;
+
     public User(String name, String encodedPassword) {
         this.name = name;
         this.password = encodedPassword;
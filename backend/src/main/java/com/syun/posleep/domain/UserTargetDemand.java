@@ -0,0 +1,55 @@
+package com.syun.posleep.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * 유저별 목표 레시피(냄비 카테고리)의 식재료 필요 수량 합.
+ * user_recipe / pot 변경 시 갱신하는 materialized 요약 테이블 (쓰기는 UserTargetDemandJdbcRepository)
+ */
+@Entity
+@Table(name = "user_target_demand")
+@IdClass(UserTargetDemand.Key.class)
+@Getter
+public class UserTargetDemand {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Id
+    @Column(name = "ingredient_id")
+    private Integer ingredientId;
+
+    @Column(nullable = false)
+    private Integer quantity = 0;
+
+    protected UserTargetDemand() {}
+
+    public static class Key implements Serializable {
+        private Integer userId;
+        private Integer ingredientId;
+
+        public Key() {}
+
+        public Key(Integer userId, Integer ingredientId) {
+            this.userId = userId;
+            this.ingredientId = ingredientId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return Objects.equals(userId, k.userId) && Objects.equals(ingredientId, k.ingredientId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, ingredientId);
+        }
+    }
+}
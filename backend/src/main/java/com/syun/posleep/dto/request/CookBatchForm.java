@@ -0,0 +1,25 @@
+package com.syun.posleep.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CookBatchForm {
+    public static final int MAX_ROWS = 100;
+
+    @Valid
+    @NotEmpty
+    @Size(max = MAX_ROWS)
+    private List<CookBatchRow> rows = new ArrayList<>();
+
+    public List<CookBatchRow> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<CookBatchRow> rows) {
+        this.rows = rows;
+    }
+}
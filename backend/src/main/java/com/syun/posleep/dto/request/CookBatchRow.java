@@ -0,0 +1,42 @@
+package com.syun.posleep.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class CookBatchRow {
+    // 한 주 요리 횟수(21회)에 여유를 둔 상한
+    public static final int MAX_TIMES = 100;
+
+    @NotNull
+    private Integer recipeId;
+
+    @NotNull
+    @Min(1)
+    @Max(MAX_TIMES)
+    private Integer times;
+
+    public CookBatchRow() {}
+    public CookBatchRow(Integer recipeId, Integer times) {
+        this.recipeId = recipeId;
+        this.times = times;
+    }
+
+    /* --- Getter / Setter --- */
+
+    public Integer getRecipeId() {
+        return recipeId;
+    }
+
+    public void setRecipeId(Integer recipeId) {
+        this.recipeId = recipeId;
+    }
+
+    public Integer getTimes() {
+        return times;
+    }
+
+    public void setTimes(Integer times) {
+        this.times = times;
+    }
+}
@@ -0,0 +1,22 @@
+package com.syun.posleep.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IngredientPatchForm {
+
+    @Valid
+    @NotNull
+    private List<IngredientPatchRow> rows = new ArrayList<>();
+
+    public List<IngredientPatchRow> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<IngredientPatchRow> rows) {
+        this.rows = rows;
+    }
+}
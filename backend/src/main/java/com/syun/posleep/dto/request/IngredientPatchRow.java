@@ -0,0 +1,50 @@
+package com.syun.posleep.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 변경된 식재료 한 행. null 인 필드는 기존 값을 유지한다.
+ */
+public class IngredientPatchRow {
+    @NotNull
+    private Integer id;
+
+    private Boolean isRegistered;
+
+    @Min(0)
+    private Integer quantity;
+
+    public IngredientPatchRow() {}
+    public IngredientPatchRow(Integer id, Boolean isRegistered, Integer quantity) {
+        this.id = id;
+        this.isRegistered = isRegistered;
+        this.quantity = quantity;
+    }
+
+    /* --- Getter / Setter --- */
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Boolean getIsRegistered() {
+        return isRegistered;
+    }
+
+    public void setIsRegistered(Boolean isRegistered) {
+        this.isRegistered = isRegistered;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
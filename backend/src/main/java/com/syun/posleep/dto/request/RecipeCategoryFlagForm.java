@@ -0,0 +1,32 @@
+package com.syun.posleep.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class RecipeCategoryFlagForm {
+    @NotBlank
+    @Size(max = 255)
+    private String category;
+
+    @NotNull
+    private Boolean isTarget;
+
+    /* --- Getter / Setter --- */
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public Boolean getIsTarget() {
+        return isTarget;
+    }
+
+    public void setIsTarget(Boolean isTarget) {
+        this.isTarget = isTarget;
+    }
+}
@@ -0,0 +1,87 @@
+package com.syun.posleep.dto.response;
+
+import com.syun.posleep.catalog.CatalogSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 마스터 데이터 사전 (GET /catalog).
+ * 압축 시트(CompactRecipeSheetResponse)는 id/숫자만 보내고 이름/카테고리는 여기서 찾는다.
+ * 배열은 모두 열(column) 단위이고, 같은 index 가 같은 행이다.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogResponse {
+    private long version;
+
+    private int[] ingredientIds;
+    private String[] ingredientNames;
+
+    // 카테고리 사전 (recipeCategories 가 이 배열의 index)
+    private String[] categories;
+
+    private int[] recipeIds;
+    private String[] recipeNames;
+    private int[] recipeCategories;
+    private int[] totalQuantities;
+    // 에너지 정보가 없으면 null
+    private Integer[] energies;
+
+    // 레시피 i 의 식재료 = ingredientOffsets[i] .. ingredientOffsets[i + 1] - 1 (position 순)
+    private int[] ingredientOffsets;
+    private int[] recipeIngredientIds;
+    private int[] needs;
+
+    public static CatalogResponse from(CatalogSnapshot catalog) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= catalog.maxIngredientId(); id++) {
+            if (catalog.hasIngredient(id)) ids.add(id);
+        }
+        int[] ingredientIds = new int[ids.size()];
+        String[] ingredientNames = new String[ids.size()];
+        for (int k = 0; k < ids.size(); k++) {
+            ingredientIds[k] = ids.get(k);
+            ingredientNames[k] = catalog.ingredientName(ids.get(k));
+        }
+
+        int n = catalog.size();
+        Map<String, Integer> categoryIndex = new HashMap<>();
+        List<String> categories = new ArrayList<>();
+        int[] recipeIds = new int[n];
+        String[] recipeNames = new String[n];
+        int[] recipeCategories = new int[n];
+        int[] totalQuantities = new int[n];
+        Integer[] energies = new Integer[n];
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            recipeIds[i] = catalog.recipeId(i);
+            recipeNames[i] = catalog.recipeName(i);
+            recipeCategories[i] = categoryIndex.computeIfAbsent(catalog.category(i), c -> {
+                categories.add(c);
+                return categories.size() - 1;
+            });
+            totalQuantities[i] = catalog.totalQuantity(i);
+            energies[i] = catalog.energy(i);
+            offsets[i + 1] = offsets[i] + catalog.ingredientCount(i);
+        }
+
+        int[] recipeIngredientIds = new int[offsets[n]];
+        int[] needs = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < catalog.ingredientCount(i); k++) {
+                recipeIngredientIds[offsets[i] + k] = catalog.ingredientId(i, k);
+                needs[offsets[i] + k] = catalog.need(i, k);
+            }
+        }
+
+        return new CatalogResponse(catalog.version(), ingredientIds, ingredientNames,
+                categories.toArray(new String[0]),
+                recipeIds, recipeNames, recipeCategories, totalQuantities, energies,
+                offsets, recipeIngredientIds, needs);
+    }
+}
@@ -0,0 +1,26 @@
+package com.syun.posleep.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 압축 레시피 시트 (GET /recipes, Accept: application/vnd.posleep.compact+json 또는 ?format=compact).
+ * 행 순서와 식재료 순서는 같은 catalogVersion 의 CatalogResponse 와 같다.
+ */
+@Getter
+@AllArgsConstructor
+public class CompactRecipeSheetResponse {
+    public static final String MEDIA_TYPE = "application/vnd.posleep.compact+json";
+    public static final String FORMAT = "compact";
+
+    public static final int FLAG_REGISTERED = 1;
+    public static final int FLAG_TARGET = 1 << 1;
+
+    private long catalogVersion;
+
+    private int[] recipeIds;
+    // 비트 플래그 (FLAG_REGISTERED | FLAG_TARGET)
+    private int[] flags;
+    // CatalogResponse.recipeIngredientIds 와 같은 index 의 부족 수량
+    private int[] reqs;
+}
@@ -0,0 +1,27 @@
+package com.syun.posleep.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MealPlanResponse {
+    private int cooks;
+    private int capacity;
+    private long totalEnergy;
+    private boolean exhaustive;
+    private List<Item> items;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Item {
+        private Integer recipeId;
+        private String name;
+        private String category;
+        private int totalQuantity;
+        private int times;
+        private int energy;
+    }
+}
@@ -0,0 +1,19 @@
+package com.syun.posleep.dto.response;
+
+import com.syun.posleep.ocr.OcrJob;
+import com.syun.posleep.ocr.OcrJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OcrJobResponse {
+    private String jobId;
+    private OcrJobStatus status;
+    private Integer applied;
+    private String error;
+
+    public static OcrJobResponse from(OcrJob job) {
+        return new OcrJobResponse(job.getId(), job.getStatus(), job.getApplied(), job.getError());
+    }
+}
@@ -0,0 +1,51 @@
+package com.syun.posleep.jdbc;
+
+/**
+ * 현재 스레드의 SQL 실행 횟수 집계 (datasource-proxy listener 가 기록).
+ * 요청 단위로는 SqlStatementFilter 가, 테스트에서는 count() 로 범위를 연다.
+ *
+ * <pre>
+ * SqlStats stats = SqlStatementCounter.count(() -> recipeService.findRecipeSheet(userId));
+ * assertThat(stats.statements()).isLessThanOrEqualTo(2);
+ * </pre>
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {}
+
+    /**
+     * 새 범위 시작. 반드시 end() 로 닫는다.
+     */
+    public static SqlStats begin() {
+        SqlStats stats = new SqlStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end(SqlStats stats) {
+        if (stats.parent() != null) {
+            CURRENT.set(stats.parent());
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public static SqlStats count(Runnable action) {
+        SqlStats stats = begin();
+        try {
+            action.run();
+        } finally {
+            end(stats);
+        }
+        return stats;
+    }
+
+    /**
+     * @return 열린 범위가 없으면 null
+     */
+    static SqlStats current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,75 @@
+package com.syun.posleep.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 실행된 SQL 문 수와 DB 시간을 엔드포인트(uri 템플릿) 별 metric 으로 남긴다.
+ * posleep.sql.budget 을 넘는 요청은 N+1 의심으로 WARN 로그.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS = "posleep.http.sql.statements";
+    static final String DB_TIME = "posleep.http.sql.time";
+
+    private final MeterRegistry registry;
+    private final int budget;
+
+    public SqlStatementFilter(MeterRegistry registry,
+                              @Value("${posleep.sql.budget:10}") int budget) {
+        this.registry = registry;
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStats stats = SqlStatementCounter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.end(stats);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder(STATEMENTS)
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(100.0)
+                .register(registry)
+                .record(stats.statements());
+        Timer.builder(DB_TIME)
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statements() > budget) {
+            log.warn("[SqlStatementFilter] {} {} -> {} (budget {})", method, uri, stats, budget);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.syun.posleep.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * JDBC 실행마다 현재 스레드의 SqlStats 에 기록 (열린 범위가 없으면 아무것도 하지 않음).
+ * batch 실행은 왕복 한 번이므로 1 로 센다.
+ */
+public class SqlStatementListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStats stats = SqlStatementCounter.current();
+        if (stats != null) stats.started(System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStats stats = SqlStatementCounter.current();
+        if (stats != null) stats.record(1, System.nanoTime() - stats.startedAt());
+    }
+}
@@ -0,0 +1,50 @@
+package com.syun.posleep.jdbc;
+
+/**
+ * 한 범위(요청/테스트 블록)에서 실행된 SQL 문 수와 DB 시간.
+ * 범위는 중첩될 수 있고, 안쪽 범위의 기록은 바깥 범위에도 더해진다.
+ */
+public final class SqlStats {
+
+    private final SqlStats parent;
+    private int statements;
+    private long nanos;
+    // 실행 중인 문장의 시작 시각 (listener before -> after, 같은 스레드)
+    private long startedAt;
+
+    SqlStats(SqlStats parent) {
+        this.parent = parent;
+    }
+
+    SqlStats parent() {
+        return parent;
+    }
+
+    void started(long now) {
+        this.startedAt = now;
+    }
+
+    long startedAt() {
+        return startedAt;
+    }
+
+    void record(int count, long elapsedNanos) {
+        for (SqlStats s = this; s != null; s = s.parent) {
+            s.statements += count;
+            s.nanos += elapsedNanos;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + (nanos / 1_000_000) + "ms";
+    }
+}
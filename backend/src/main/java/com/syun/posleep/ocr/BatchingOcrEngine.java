@@ -0,0 +1,165 @@
+package com.syun.posleep.ocr;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 동시에 들어온 단건 인식 요청을 모아 delegate.recognizeBatch 한 번으로 보낸다.
+ * maxBatchSize 개가 모이거나, 첫 요청 후 windowMs 가 지나면 flush 한다.
+ * 타이머 스레드는 window 예약만 하고, 모인 배치는 최대 maxConcurrentBatches 개의 전송 스레드에서 보낸다
+ * (느린 RPC 하나가 다음 window 를 막지 않도록). 전송 대기 배치 수는 결과를 기다리는 호출자 수로 제한된다.
+ */
+@Slf4j
+public class BatchingOcrEngine implements OcrEngine, AutoCloseable {
+
+    private final OcrEngine delegate;
+    private final int maxBatchSize;
+    private final long windowMs;
+    private final long timeoutMs;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService senders;
+
+    // lock 으로 보호
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Pending> pending = new ArrayList<>();
+    private ScheduledFuture<?> window;
+
+    public BatchingOcrEngine(OcrEngine delegate, int maxBatchSize, long windowMs, long timeoutMs, int maxConcurrentBatches) {
+        this.delegate = delegate;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.windowMs = windowMs;
+        this.timeoutMs = timeoutMs;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "ocr-batch-timer"));
+
+        int concurrency = Math.max(1, maxConcurrentBatches);
+        AtomicInteger seq = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> daemon(r, "ocr-batch-send-" + seq.incrementAndGet()));
+        pool.allowCoreThreadTimeOut(true);
+        this.senders = pool;
+    }
+
+    @Override
+    public String recognize(OcrImage image) {
+        Pending p = new Pending(image);
+        List<Pending> full = null;
+
+        lock.lock();
+        try {
+            pending.add(p);
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (pending.size() == 1) {
+                window = timer.schedule(this::flushWindow, windowMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) send(full);
+
+        try {
+            return p.result.get(timeoutMs, TimeUnit.MILLISECONDS).textOrThrow();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof OcrException oe ? oe : new OcrException("OCR 실패", e.getCause());
+        } catch (TimeoutException e) {
+            throw new OcrException("OCR 시간 초과", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OcrException("interrupted", e);
+        }
+    }
+
+    @Override
+    public List<OcrText> recognizeBatch(List<OcrImage> images) {
+        return delegate.recognizeBatch(images);
+    }
+
+    private void flushWindow() {
+        List<Pending> batch;
+        lock.lock();
+        try {
+            batch = drain();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) send(batch);
+    }
+
+    // lock 안에서 호출 (크기로 flush 하면 예약된 window 는 취소)
+    private List<Pending> drain() {
+        if (window != null) {
+            window.cancel(false);
+            window = null;
+        }
+        List<Pending> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void send(List<Pending> batch) {
+        try {
+            senders.execute(() -> dispatch(batch));
+        } catch (RejectedExecutionException e) {
+            OcrException closed = new OcrException("OCR 엔진이 종료되었습니다", e);
+            for (Pending p : batch) p.result.completeExceptionally(closed);
+        }
+    }
+
+    private void dispatch(List<Pending> batch) {
+        List<OcrImage> images = new ArrayList<>(batch.size());
+        for (Pending p : batch) images.add(p.image);
+
+        try {
+            List<OcrText> results = delegate.recognizeBatch(images);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(i < results.size() ? results.get(i) : OcrText.failed("결과 없음"));
+            }
+            log.debug("[BatchingOcrEngine] {}장 일괄 인식", batch.size());
+        } catch (RuntimeException e) {
+            for (Pending p : batch) p.result.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdown();
+        senders.shutdown();
+        if (delegate instanceof AutoCloseable c) {
+            try {
+                c.close();
+            } catch (Exception e) {
+                log.warn("[BatchingOcrEngine] delegate 종료 실패", e);
+            }
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private static final class Pending {
+        private final OcrImage image;
+        private final CompletableFuture<OcrText> result = new CompletableFuture<>();
+
+        private Pending(OcrImage image) {
+            this.image = image;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.syun.posleep.ocr;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기기 화면 비율별 가방(식재료 목록) 영역. 좌표는 이미지 크기에 대한 비율(0~1).
+ * @param aspect    높이 / 너비 (예: 19.5:9 -> 2.17)
+ */
+public record CropProfile(
+        double aspect,
+        double top,
+        double bottom,
+        double left,
+        double right
+) {
+    /**
+     * "aspect=top,bottom,left,right;..." 형식 파싱 (예: 2.17=0.15,0.95,0,1)
+     * @throws IllegalArgumentException 형식이 틀리거나 영역이 0~1 범위를 벗어난 경우
+     */
+    public static List<CropProfile> parseAll(String spec) {
+        List<CropProfile> profiles = new ArrayList<>();
+        if (spec == null || spec.isBlank()) return profiles;
+
+        for (String entry : spec.split(";")) {
+            if (entry.isBlank()) continue;
+            String[] kv = entry.split("=");
+            String[] v = kv.length == 2 ? kv[1].split(",") : new String[0];
+            if (v.length != 4) {
+                throw new IllegalArgumentException("잘못된 crop profile: " + entry);
+            }
+            CropProfile p = new CropProfile(
+                    Double.parseDouble(kv[0].trim()),
+                    Double.parseDouble(v[0].trim()),
+                    Double.parseDouble(v[1].trim()),
+                    Double.parseDouble(v[2].trim()),
+                    Double.parseDouble(v[3].trim()));
+            if (!(p.aspect > 0 && 0 <= p.top && p.top < p.bottom && p.bottom <= 1 && 0 <= p.left && p.left < p.right && p.right <= 1)) {
+                throw new IllegalArgumentException("잘못된 crop 영역: " + entry);
+            }
+            profiles.add(p);
+        }
+        return profiles;
+    }
+}
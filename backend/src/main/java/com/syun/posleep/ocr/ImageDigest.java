@@ -0,0 +1,29 @@
+package com.syun.posleep.ocr;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class ImageDigest {
+
+    private ImageDigest() {}
+
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String toHex(byte[] hash) {
+        return HexFormat.of().formatHex(hash);
+    }
+
+    /**
+     * @return 이미지 바이트의 SHA-256 hex (64자)
+     */
+    public static String sha256Hex(byte[] image) {
+        return toHex(newSha256().digest(image));
+    }
+}
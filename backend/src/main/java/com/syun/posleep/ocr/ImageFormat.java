@@ -0,0 +1,46 @@
+package com.syun.posleep.ocr;
+
+/**
+ * 업로드 이미지 형식 (선언된 Content-Type 이 아니라 앞부분 magic bytes 로 판별)
+ */
+public enum ImageFormat {
+    PNG("image/png"),
+    JPEG("image/jpeg"),
+    WEBP("image/webp");
+
+    // 판별에 필요한 최대 바이트 수 (WEBP: RIFF....WEBP)
+    public static final int SNIFF_LENGTH = 12;
+
+    private final String mimeType;
+
+    ImageFormat(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * @param header    파일 앞부분
+     * @param length    header 중 유효한 바이트 수
+     * @return 형식, 지원하지 않으면 null
+     */
+    public static ImageFormat sniff(byte[] header, int length) {
+        if (length >= 8
+                && (header[0] & 0xff) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == 0x0D && header[5] == 0x0A && header[6] == 0x1A && header[7] == 0x0A) {
+            return PNG;
+        }
+        if (length >= 3
+                && (header[0] & 0xff) == 0xFF && (header[1] & 0xff) == 0xD8 && (header[2] & 0xff) == 0xFF) {
+            return JPEG;
+        }
+        if (length >= 12
+                && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return WEBP;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,146 @@
+package com.syun.posleep.ocr;
+
+import com.google.protobuf.ByteString;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * OCR 호출 전 이미지 축소.
+ * 화면 비율에 맞는 profile 로 가방 영역만 자르고, 글자가 읽히는 최소 너비로 줄인 뒤
+ * 흑백 PNG 로 다시 인코딩한다. 결과가 원본보다 크거나 디코딩할 수 없으면(WEBP 등) 원본을 그대로 쓴다.
+ * 헤더의 가로 x 세로가 maxPixels 를 넘으면 픽셀을 디코딩하지 않는다 (작은 파일이 거대한 크기를 선언하는 압축 폭탄 방지).
+ * digest 는 원본 기준으로 유지해 결과 캐시 키가 바뀌지 않는다.
+ */
+@Slf4j
+public class ImagePreprocessor {
+
+    // 화면 비율이 이 차이 이내인 profile 만 사용
+    static final double ASPECT_TOLERANCE = 0.08;
+    // 1440x3200 화면의 약 5배 (ARGB 로 디코딩하면 약 100MB)
+    public static final long DEFAULT_MAX_PIXELS = 24_000_000L;
+
+    public static final ImagePreprocessor NONE = new ImagePreprocessor(List.of(), 0) {
+        @Override
+        public OcrImage process(OcrImage image) {
+            return image;
+        }
+    };
+
+    private final List<CropProfile> profiles;
+    private final int maxWidth;
+    private final long maxPixels;
+
+    public ImagePreprocessor(List<CropProfile> profiles, int maxWidth) {
+        this(profiles, maxWidth, DEFAULT_MAX_PIXELS);
+    }
+
+    public ImagePreprocessor(List<CropProfile> profiles, int maxWidth, long maxPixels) {
+        this.profiles = List.copyOf(profiles);
+        this.maxWidth = maxWidth;
+        this.maxPixels = maxPixels;
+    }
+
+    public OcrImage process(OcrImage image) {
+        try {
+            BufferedImage src = decode(image);
+            if (src == null) return image;
+
+            BufferedImage out = grayscale(crop(src), maxWidth);
+            ByteString encoded = encodePng(out);
+            if (encoded.size() >= image.size()) return image;
+
+            log.debug("[ImagePreprocessor] {}x{} {}B -> {}x{} {}B",
+                    src.getWidth(), src.getHeight(), image.size(), out.getWidth(), out.getHeight(), encoded.size());
+            return new OcrImage(encoded, image.digest(), ImageFormat.PNG);
+        } catch (IOException | RuntimeException e) {
+            log.warn("[ImagePreprocessor] 전처리 실패, 원본 사용 digest={}", image.digest(), e);
+            return image;
+        }
+    }
+
+    /**
+     * @return 디코딩한 이미지, 읽을 수 없는 형식이거나 maxPixels 를 넘으면 null
+     */
+    private BufferedImage decode(OcrImage image) throws IOException {
+        // 파일 캐시 없이 메모리에서 읽는다 (ImageIO.createImageInputStream 은 임시 파일을 쓸 수 있음)
+        try (ImageInputStream in = new MemoryCacheImageInputStream(image.content().newInput())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("[ImagePreprocessor] {}x{} 는 상한({}px)을 넘어 전처리 생략 digest={}",
+                            reader.getWidth(0), reader.getHeight(0), maxPixels, image.digest());
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    BufferedImage crop(BufferedImage src) {
+        CropProfile profile = profileFor((double) src.getHeight() / src.getWidth());
+        if (profile == null) return src;
+
+        // 반올림으로 시작점이 끝에 닿아도 최소 1px 은 남긴다
+        int x = Math.min(src.getWidth() - 1, (int) Math.round(src.getWidth() * profile.left()));
+        int y = Math.min(src.getHeight() - 1, (int) Math.round(src.getHeight() * profile.top()));
+        int w = Math.max(1, (int) Math.round(src.getWidth() * profile.right()) - x);
+        int h = Math.max(1, (int) Math.round(src.getHeight() * profile.bottom()) - y);
+        return src.getSubimage(x, y, Math.min(w, src.getWidth() - x), Math.min(h, src.getHeight() - y));
+    }
+
+    CropProfile profileFor(double aspect) {
+        CropProfile best = null;
+        double bestDiff = ASPECT_TOLERANCE;
+        for (CropProfile p : profiles) {
+            double diff = Math.abs(p.aspect() - aspect);
+            if (diff <= bestDiff) {
+                best = p;
+                bestDiff = diff;
+            }
+        }
+        return best;
+    }
+
+    // 축소 + 흑백 변환을 한 번의 그리기로
+    private static BufferedImage grayscale(BufferedImage src, int maxWidth) {
+        double scale = src.getWidth() > maxWidth ? (double) maxWidth / src.getWidth() : 1.0;
+        int w = Math.max(1, (int) Math.round(src.getWidth() * scale));
+        int h = Math.max(1, (int) Math.round(src.getHeight() * scale));
+
+        BufferedImage gray = new BufferedImage(w, h, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return gray;
+    }
+
+    private static ByteString encodePng(BufferedImage image) throws IOException {
+        ByteString.Output out = ByteString.newOutput();
+        if (!ImageIO.write(image, "png", out)) {
+            throw new IOException("PNG writer 없음");
+        }
+        return out.toByteString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.syun.posleep.ocr;
+
+public class InvalidImageException extends RuntimeException {
+
+    public enum Reason {
+        EMPTY,
+        TOO_LARGE,
+        UNSUPPORTED_FORMAT
+    }
+
+    private final Reason reason;
+
+    public InvalidImageException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
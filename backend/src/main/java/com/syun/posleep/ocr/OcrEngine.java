@@ -0,0 +1,19 @@
+package com.syun.posleep.ocr;
+
+import java.util.List;
+
+/**
+ * 이미지 -> 전체 텍스트 인식 엔진. (ocr.engine 으로 선택)
+ */
+public interface OcrEngine {
+
+    /**
+     * 여러 이미지를 한 번에 인식
+     * @return 입력과 같은 순서의 결과, 호출 자체가 실패하면 OcrException
+     */
+    List<OcrText> recognizeBatch(List<OcrImage> images);
+
+    default String recognize(OcrImage image) {
+        return recognizeBatch(List.of(image)).get(0).textOrThrow();
+    }
+}
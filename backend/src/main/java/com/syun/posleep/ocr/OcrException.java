@@ -0,0 +1,12 @@
+package com.syun.posleep.ocr;
+
+public class OcrException extends RuntimeException {
+
+    public OcrException(String message) {
+        super(message);
+    }
+
+    public OcrException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
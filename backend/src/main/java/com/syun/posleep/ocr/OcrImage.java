@@ -0,0 +1,20 @@
+package com.syun.posleep.ocr;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * OCR 로 보낼 이미지 한 장.
+ * content 는 불변 ByteString 이라 캐시/배치/Vision 요청 사이에서 복사 없이 그대로 공유된다.
+ * @param content   이미지 바이트
+ * @param digest    content 의 SHA-256 hex
+ * @param format    magic bytes 로 판별한 형식
+ */
+public record OcrImage(
+        ByteString content,
+        String digest,
+        ImageFormat format
+) {
+    public int size() {
+        return content.size();
+    }
+}
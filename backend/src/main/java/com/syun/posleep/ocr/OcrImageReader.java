@@ -0,0 +1,86 @@
+package com.syun.posleep.ocr;
+
+import com.google.protobuf.ByteString;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+/**
+ * 업로드 스트림 -> OcrImage.
+ * byte[] 로 한 번 모았다가 ByteString 으로 다시 복사하지 않고, 스트림을 ByteString 으로 바로 읽으면서
+ * SHA-256 을 함께 계산한다. 앞부분으로 형식을 판별하고, maxBytes 를 넘으면 읽는 도중 중단한다.
+ */
+public final class OcrImageReader {
+
+    private OcrImageReader() {}
+
+    /**
+     * @throws InvalidImageException 비었거나, 지원하지 않는 형식이거나, maxBytes 초과
+     */
+    public static OcrImage read(InputStream in, long maxBytes) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in, ImageFormat.SNIFF_LENGTH);
+
+        byte[] header = new byte[ImageFormat.SNIFF_LENGTH];
+        int headerLength = pushback.readNBytes(header, 0, header.length);
+        if (headerLength == 0) {
+            throw new InvalidImageException(InvalidImageException.Reason.EMPTY, "빈 이미지입니다");
+        }
+
+        ImageFormat format = ImageFormat.sniff(header, headerLength);
+        if (format == null) {
+            throw new InvalidImageException(InvalidImageException.Reason.UNSUPPORTED_FORMAT, "지원하지 않는 이미지 형식입니다");
+        }
+        pushback.unread(header, 0, headerLength);
+
+        MessageDigest sha256 = ImageDigest.newSha256();
+        InputStream limited = new LimitedInputStream(new DigestInputStream(pushback, sha256), maxBytes);
+        ByteString content = ByteString.readFrom(limited);
+
+        return new OcrImage(content, ImageDigest.toHex(sha256.digest()), format);
+    }
+
+    /**
+     * 이미 메모리에 있는 바이트 (테스트/벤치마크용, 한 번 복사)
+     */
+    public static OcrImage of(byte[] bytes) {
+        ImageFormat format = ImageFormat.sniff(bytes, Math.min(bytes.length, ImageFormat.SNIFF_LENGTH));
+        return new OcrImage(ByteString.copyFrom(bytes), ImageDigest.sha256Hex(bytes), format);
+    }
+
+    // limit 를 넘겨 읽으려 하면 InvalidImageException
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) {
+            count += n;
+            if (count > limit) {
+                throw new InvalidImageException(InvalidImageException.Reason.TOO_LARGE,
+                        "이미지가 너무 큽니다 (최대 " + limit + " bytes)");
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.syun.posleep.ocr;
+
+import java.util.UUID;
+
+/**
+ * 비동기 OCR 작업 상태 (요청 스레드가 만들고 ocr executor 스레드가 갱신한다)
+ */
+public class OcrJob {
+
+    private final String id;
+    private final Integer userId;
+    private final long createdAt;
+
+    private volatile OcrJobStatus status = OcrJobStatus.PENDING;
+    private volatile Integer applied;
+    private volatile String error;
+
+    public OcrJob(Integer userId) {
+        this.id = UUID.randomUUID().toString();
+        this.userId = userId;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    public void running() {
+        this.status = OcrJobStatus.RUNNING;
+    }
+
+    /**
+     * @param applied   반영된 식재료 수
+     */
+    public void done(int applied) {
+        this.applied = applied;
+        this.status = OcrJobStatus.DONE;
+    }
+
+    /**
+     * @param error     클라이언트에 보여줄 고정 문구 (예외 메시지를 넣지 않는다)
+     */
+    public void failed(String error) {
+        this.error = error;
+        this.status = OcrJobStatus.FAILED;
+    }
+
+    public boolean isOwnedBy(Integer userId) {
+        return this.userId.equals(userId);
+    }
+
+    /* --- Getter --- */
+
+    public String getId() {
+        return id;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public OcrJobStatus getStatus() {
+        return status;
+    }
+
+    public Integer getApplied() {
+        return applied;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,8 @@
+package com.syun.posleep.ocr;
+
+public enum OcrJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,97 @@
+package com.syun.posleep.ocr;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syun.posleep.cache.TtlCache;
+import com.syun.posleep.domain.OcrResult;
+import com.syun.posleep.repository.OcrResultRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 이미지 digest -> 파싱된 (식재료 이름 -> 수량) 캐시.
+ * 같은 스크린샷을 다시 올리면 외부 OCR 호출 없이 결과를 재사용한다.
+ * ocr.cache.persist=true 이면 ocr_result_cache 테이블에도 저장해 재시작 후에도 유지한다.
+ */
+@Slf4j
+@Component
+public class OcrResultCache {
+
+    private static final TypeReference<LinkedHashMap<String, Integer>> RESULT_TYPE = new TypeReference<>() {};
+
+    private final OcrResultRepository repository;
+    private final ObjectMapper objectMapper;
+    private final boolean persist;
+    private final long ttlMs;
+    private final TtlCache<String, Map<String, Integer>> memory;
+
+    public OcrResultCache(OcrResultRepository repository,
+                          ObjectMapper objectMapper,
+                          @Value("${ocr.cache.max-size:500}") int maxSize,
+                          @Value("${ocr.cache.ttl-ms:86400000}") long ttlMs,
+                          @Value("${ocr.cache.persist:false}") boolean persist) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.persist = persist;
+        this.ttlMs = ttlMs;
+        this.memory = new TtlCache<>(maxSize, ttlMs);
+    }
+
+    /**
+     * @return 캐시된 결과, 없거나 만료되었으면 null
+     */
+    public Map<String, Integer> get(String digest) {
+        Map<String, Integer> cached = memory.get(digest);
+        if (cached != null || !persist) return cached;
+
+        try {
+            OcrResult row = repository.findById(digest).orElse(null);
+            if (row == null) return null;
+            if (row.getCreatedAt().isBefore(expiredBefore())) {
+                repository.deleteById(digest);
+                return null;
+            }
+
+            Map<String, Integer> result = Collections.unmodifiableMap(objectMapper.readValue(row.getResultJson(), RESULT_TYPE));
+            memory.put(digest, result);
+            return result;
+        } catch (JsonProcessingException | RuntimeException e) {
+            // 캐시 조회 실패는 OCR 을 다시 호출하면 되므로 무시
+            log.warn("[OcrResultCache] 조회 실패 digest={}", digest, e);
+            return null;
+        }
+    }
+
+    public void put(String digest, Map<String, Integer> result) {
+        Map<String, Integer> copy = Collections.unmodifiableMap(new LinkedHashMap<>(result));
+        memory.put(digest, copy);
+        if (!persist) return;
+
+        try {
+            repository.save(new OcrResult(digest, objectMapper.writeValueAsString(copy)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[OcrResultCache] 저장 실패 digest={}", digest, e);
+        }
+    }
+
+    // 기동 시 만료된 영속 캐시 행 정리
+    @PostConstruct
+    protected void init() {
+        if (!persist) return;
+        int deleted = repository.deleteOlderThan(expiredBefore());
+        log.info("[OcrResultCache] 만료된 결과 {}건 삭제", deleted);
+    }
+
+    private LocalDateTime expiredBefore() {
+        return LocalDateTime.now().minus(Duration.ofMillis(ttlMs));
+    }
+}
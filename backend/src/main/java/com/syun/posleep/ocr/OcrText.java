@@ -0,0 +1,22 @@
+package com.syun.posleep.ocr;
+
+/**
+ * 이미지 한 장의 인식 결과 (text 또는 error 중 하나)
+ */
+public record OcrText(
+        String text,
+        String error
+) {
+    public static OcrText of(String text) {
+        return new OcrText(text, null);
+    }
+
+    public static OcrText failed(String error) {
+        return new OcrText(null, error);
+    }
+
+    public String textOrThrow() {
+        if (error != null) throw new OcrException(error);
+        return text != null ? text : "";
+    }
+}
@@ -0,0 +1,170 @@
+package com.syun.posleep.ocr;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 가방 스크린샷 OCR 텍스트 -> (식재료 이름 -> 수량).
+ * 첫 "x" 로 시작하는 줄부터 END_ANCHOR 줄 전까지를 한 번 훑으며
+ * 수량 줄(x12)과 이름 줄을 순서대로 짝짓는다. 줄마다 정규식/substring 을 만들지 않고
+ * 이름으로 판정된 줄만 문자열로 잘라낸다.
+ */
+public final class OcrTextParser {
+
+    public static final String END_ANCHOR = "돌아간다";
+
+    private static final int NAME_MIN_LENGTH = 2;
+    private static final int NAME_MAX_LENGTH = 20;
+    private static final int COUNT_MAX_DIGITS = 3;
+    private static final int NOT_COUNT = -1;
+
+    private OcrTextParser() {}
+
+    public static Map<String, Integer> parse(String fullText) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (fullText == null || fullText.isEmpty()) return result;
+
+        ArrayDeque<String> names = new ArrayDeque<>();
+        IntQueue counts = new IntQueue();
+
+        int len = fullText.length();
+        int pos = findStart(fullText);
+        while (pos < len) {
+            int lineEnd = lineEnd(fullText, pos);
+
+            // trim
+            int from = pos, to = lineEnd;
+            while (from < to && fullText.charAt(from) <= ' ') from++;
+            while (to > from && fullText.charAt(to - 1) <= ' ') to--;
+            if (fullText.startsWith(END_ANCHOR, from) && to - from == END_ANCHOR.length()) break;
+
+            // normalize: 앞뒤 기호(※ + ↑ -) 제거
+            while (from < to && isStrippable(fullText.charAt(from))) from++;
+            while (to > from && isStrippable(fullText.charAt(to - 1))) to--;
+
+            if (from < to) {
+                int count = parseCount(fullText, from, to);
+                if (count != NOT_COUNT) {
+                    counts.add(count);
+                } else if (isName(fullText, from, to)) {
+                    names.addLast(fullText.substring(from, to));
+                }
+
+                while (!counts.isEmpty() && !names.isEmpty()) {
+                    result.put(names.removeFirst(), counts.remove());
+                }
+            }
+
+            pos = nextLine(fullText, lineEnd);
+        }
+        return result;
+    }
+
+    /**
+     * @return 공백 제거 후 'x' 로 시작하는 첫 줄의 시작 위치, 없으면 0
+     */
+    static int findStart(String text) {
+        int len = text.length();
+        int pos = 0;
+        while (pos < len) {
+            int lineEnd = lineEnd(text, pos);
+            int i = pos;
+            while (i < lineEnd && text.charAt(i) <= ' ') i++;
+            if (i < lineEnd && text.charAt(i) == 'x') return pos;
+            pos = nextLine(text, lineEnd);
+        }
+        return 0;
+    }
+
+    // x12 / X 3 -> 수량, 아니면 NOT_COUNT
+    static int parseCount(String s, int from, int to) {
+        char first = s.charAt(from);
+        if (first != 'x' && first != 'X') return NOT_COUNT;
+
+        int i = from + 1;
+        while (i < to && isWhitespace(s.charAt(i))) i++;
+
+        int digits = to - i;
+        if (digits < 1 || digits > COUNT_MAX_DIGITS) return NOT_COUNT;
+
+        int value = 0;
+        for (; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return NOT_COUNT;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // 한글 포함, 2~20자, 공백 없음
+    static boolean isName(String s, int from, int to) {
+        int length = to - from;
+        if (length < NAME_MIN_LENGTH || length > NAME_MAX_LENGTH) return false;
+
+        boolean hangul = false;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == ' ') return false;
+            if (c >= '가' && c <= '힣') hangul = true;
+        }
+        return hangul;
+    }
+
+    private static boolean isStrippable(char c) {
+        return c <= ' ' || c == '※' || c == '+' || c == '↑' || c == '-';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static int lineEnd(String s, int from) {
+        int i = from;
+        while (i < s.length() && !isLineBreak(s.charAt(i))) i++;
+        return i;
+    }
+
+    // \r\n 은 한 줄바꿈으로 본다
+    private static int nextLine(String s, int lineEnd) {
+        if (lineEnd >= s.length()) return lineEnd;
+        if (s.charAt(lineEnd) == '\r' && lineEnd + 1 < s.length() && s.charAt(lineEnd + 1) == '\n') {
+            return lineEnd + 2;
+        }
+        return lineEnd + 1;
+    }
+
+    // 박싱 없는 int FIFO
+    private static final class IntQueue {
+        private int[] values = new int[16];
+        private int head;
+        private int tail;
+
+        void add(int v) {
+            if (tail == values.length) {
+                if (head > 0) {
+                    System.arraycopy(values, head, values, 0, tail - head);
+                    tail -= head;
+                    head = 0;
+                } else {
+                    int[] grown = new int[values.length * 2];
+                    System.arraycopy(values, 0, grown, 0, tail);
+                    values = grown;
+                }
+            }
+            values[tail++] = v;
+        }
+
+        int remove() {
+            return values[head++];
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+    }
+}
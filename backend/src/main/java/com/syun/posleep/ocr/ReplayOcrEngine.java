@@ -0,0 +1,84 @@
+package com.syun.posleep.ocr;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 녹화해 둔 OCR 텍스트를 돌려주는 로컬 엔진 (네트워크 없이 부하 테스트/벤치마크용).
+ * 같은 이미지에는 항상 같은 fixture 를 돌려준다 (SHA-256 기준).
+ */
+public class ReplayOcrEngine implements OcrEngine {
+
+    public static final String DEFAULT_FIXTURES = "classpath:ocr/replay/*.txt";
+
+    private final List<String> fixtures;
+    private final long latencyMs;
+    private final long latencyPerMbMs;
+
+    /**
+     * @param latencyMs         호출당 지연
+     * @param latencyPerMbMs    이미지 1MB 당 추가 지연 (업로드 대역폭 흉내)
+     */
+    public ReplayOcrEngine(List<String> fixtures, long latencyMs, long latencyPerMbMs) {
+        if (fixtures.isEmpty()) throw new IllegalArgumentException("OCR fixture 가 없습니다");
+        this.fixtures = List.copyOf(fixtures);
+        this.latencyMs = latencyMs;
+        this.latencyPerMbMs = latencyPerMbMs;
+    }
+
+    /**
+     * @param locationPattern   fixture 위치 (예: classpath:ocr/replay/*.txt), 파일명 순으로 정렬
+     */
+    public static ReplayOcrEngine fromResources(String locationPattern, long latencyMs, long latencyPerMbMs) {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(locationPattern);
+            Arrays.sort(resources, Comparator.comparing(Resource::getFilename));
+
+            List<String> fixtures = new ArrayList<>(resources.length);
+            for (Resource r : resources) {
+                fixtures.add(r.getContentAsString(StandardCharsets.UTF_8));
+            }
+            return new ReplayOcrEngine(fixtures, latencyMs, latencyPerMbMs);
+        } catch (IOException e) {
+            throw new IllegalStateException("OCR fixture 로드 실패: " + locationPattern, e);
+        }
+    }
+
+    @Override
+    public List<OcrText> recognizeBatch(List<OcrImage> images) {
+        long bytes = 0;
+        for (OcrImage image : images) bytes += image.size();
+        simulateLatency(latencyMs + bytes * latencyPerMbMs / (1024 * 1024));
+
+        List<OcrText> results = new ArrayList<>(images.size());
+        for (OcrImage image : images) {
+            results.add(OcrText.of(fixtures.get(pick(image))));
+        }
+        return results;
+    }
+
+    private int pick(OcrImage image) {
+        return Math.floorMod(image.digest().hashCode(), fixtures.size());
+    }
+
+    private static void simulateLatency(long millis) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OcrException("interrupted", e);
+        }
+    }
+
+    public int fixtureCount() {
+        return fixtures.size();
+    }
+}
@@ -0,0 +1,84 @@
+package com.syun.posleep.ocr;
+
+import com.google.cloud.vision.v1.*;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Google Cloud Vision TEXT_DETECTION.
+ * 클라이언트(gRPC 채널)는 처음 호출할 때 한 번 만들어 재사용한다.
+ */
+@Slf4j
+public class VisionOcrEngine implements OcrEngine, AutoCloseable {
+
+    // batchAnnotateImages 요청당 이미지 수 제한
+    public static final int MAX_BATCH_SIZE = 16;
+
+    private static final Feature TEXT_DETECTION = Feature.newBuilder()
+            .setType(Feature.Type.TEXT_DETECTION)
+            .build();
+
+    private volatile ImageAnnotatorClient client;
+    // 클라이언트 생성은 자격 증명 조회/채널 연결(I/O)이라 monitor 대신 lock
+    private final ReentrantLock clientLock = new ReentrantLock();
+
+    @Override
+    public List<OcrText> recognizeBatch(List<OcrImage> images) {
+        List<OcrText> results = new ArrayList<>(images.size());
+        for (int from = 0; from < images.size(); from += MAX_BATCH_SIZE) {
+            results.addAll(annotate(images.subList(from, Math.min(from + MAX_BATCH_SIZE, images.size()))));
+        }
+        return results;
+    }
+
+    private List<OcrText> annotate(List<OcrImage> images) {
+        List<AnnotateImageRequest> requests = new ArrayList<>(images.size());
+        for (OcrImage image : images) {
+            requests.add(AnnotateImageRequest.newBuilder()
+                    .addFeatures(TEXT_DETECTION)
+                    .setImage(Image.newBuilder().setContent(image.content()))
+                    .build());
+        }
+
+        BatchAnnotateImagesResponse response = client().batchAnnotateImages(requests);
+
+        List<OcrText> results = new ArrayList<>(images.size());
+        for (AnnotateImageResponse res : response.getResponsesList()) {
+            results.add(res.hasError()
+                    ? OcrText.failed(res.getError().getMessage())
+                    : OcrText.of(res.getFullTextAnnotation().getText()));
+        }
+        return results;
+    }
+
+    private ImageAnnotatorClient client() {
+        ImageAnnotatorClient c = client;
+        if (c != null) return c;
+        clientLock.lock();
+        try {
+            if (client == null) {
+                try {
+                    client = ImageAnnotatorClient.create();
+                } catch (IOException e) {
+                    throw new OcrException("Vision 클라이언트 생성 실패", e);
+                }
+            }
+            return client;
+        } finally {
+            clientLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        ImageAnnotatorClient c = client;
+        if (c != null) {
+            c.close();
+            log.info("[VisionOcrEngine] 클라이언트 종료");
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.syun.posleep.planner;
+
+import com.syun.posleep.catalog.CatalogSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 다음 N 번 요리의 에너지 합이 최대가 되는 레시피 조합 (재료 여러 종류를 공유하는 bounded knapsack).
+ * 후보를 에너지 내림차순으로 두고 레시피별 요리 횟수를 깊이 우선으로 정하며,
+ * "남은 횟수를 각 레시피의 최대 가능 횟수 안에서 에너지 높은 순으로 채운 값" 을 상한으로 가지치기한다.
+ * 첫 번째 후보의 횟수별로 fork-join 으로 나눠 탐색하고, 최선값은 작업끼리 공유한다.
+ * 탐색 노드가 nodeLimit 를 넘거나 timeLimitMs 가 지나면 그때까지의 최선을 돌려준다 (exhaustive = false).
+ * 첫 번째 잎이 에너지 높은 순 greedy 해라서 일찍 끊겨도 그보다 나쁘지 않다.
+ */
+public final class MealPlanner {
+
+    public static final long DEFAULT_NODE_LIMIT = 200_000L;
+    public static final long DEFAULT_TIME_LIMIT_MS = 10L;
+
+    // 공유 노드 카운터에 반영하는 주기
+    private static final int NODE_FLUSH = 1024;
+
+    private final int n;
+    private final int[] recipeIndexes;
+    private final int[] energies;
+    private final int[][] slotIds;
+    private final int[][] slotNeeds;
+    private final int cooks;
+    private final long nodeLimit;
+    // System.nanoTime() 기준 마감, 0 이면 시간 제한 없음
+    private final long deadline;
+
+    private final AtomicLong bestEnergy = new AtomicLong(-1);
+    private final LongAdder nodes = new LongAdder();
+    private volatile boolean limitReached;
+    private int[] bestCounts;
+
+    private MealPlanner(CatalogSnapshot catalog, int[] candidates, int cooks, long nodeLimit, long timeLimitMs) {
+        Integer[] order = new Integer[candidates.length];
+        for (int i = 0; i < order.length; i++) order[i] = candidates[i];
+        Arrays.sort(order, (a, b) -> Integer.compare(energyOf(catalog, b), energyOf(catalog, a)));
+
+        this.n = order.length;
+        this.recipeIndexes = new int[n];
+        this.energies = new int[n];
+        this.slotIds = new int[n][];
+        this.slotNeeds = new int[n][];
+        for (int i = 0; i < n; i++) {
+            int r = order[i];
+            recipeIndexes[i] = r;
+            energies[i] = energyOf(catalog, r);
+
+            int count = catalog.ingredientCount(r);
+            int slots = 0;
+            for (int s = 0; s < count; s++) {
+                if (catalog.need(r, s) > 0) slots++;
+            }
+            slotIds[i] = new int[slots];
+            slotNeeds[i] = new int[slots];
+            for (int s = 0, k = 0; s < count; s++) {
+                if (catalog.need(r, s) > 0) {
+                    slotIds[i][k] = catalog.ingredientId(r, s);
+                    slotNeeds[i][k] = catalog.need(r, s);
+                    k++;
+                }
+            }
+        }
+        this.cooks = cooks;
+        this.nodeLimit = nodeLimit;
+        this.deadline = timeLimitMs > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimitMs) : 0;
+        this.bestCounts = new int[n];
+    }
+
+    /**
+     * @param candidates    후보 recipe index (용량/카테고리 필터는 호출 측에서)
+     * @param stock         ingredient id 로 인덱싱한 보유 수량 (CatalogSnapshot.newQuantityArray)
+     * @param cooks         요리 횟수
+     * @param nodeLimit     탐색 노드 상한
+     * @param timeLimitMs   탐색 시간 상한 (0 이하면 제한 없음)
+     */
+    public static Plan plan(CatalogSnapshot catalog, int[] candidates, int[] stock, int cooks, long nodeLimit, long timeLimitMs) {
+        MealPlanner planner = new MealPlanner(catalog, candidates, cooks, nodeLimit, timeLimitMs);
+        return planner.run(stock);
+    }
+
+    private Plan run(int[] stock) {
+        if (n == 0 || cooks <= 0) {
+            return new Plan(List.of(), 0, true, 0);
+        }
+
+        int[] root = stock.clone();
+        int max0 = maxTimes(0, root, cooks);
+
+        // 첫 번째 후보(에너지 최대)의 횟수별로 나눠 병렬 탐색, 많이 쓰는 쪽부터
+        List<RecursiveAction> tasks = new ArrayList<>(max0 + 1);
+        for (int t = max0; t >= 0; t--) {
+            int times = t;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    new Search(root).branch(times);
+                }
+            });
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        List<Plan.Item> items = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < n; i++) {
+                if (bestCounts[i] > 0) items.add(new Plan.Item(recipeIndexes[i], bestCounts[i], energies[i]));
+            }
+        }
+        return new Plan(items, Math.max(0, bestEnergy.get()), !limitReached, nodes.sum());
+    }
+
+    // 현재 재고로 후보 i 를 최대 몇 번 만들 수 있는지 (remaining 이하)
+    private int maxTimes(int i, int[] stock, int remaining) {
+        int times = remaining;
+        for (int k = 0; k < slotIds[i].length && times > 0; k++) {
+            times = Math.min(times, stock[slotIds[i][k]] / slotNeeds[i][k]);
+        }
+        return times;
+    }
+
+    private synchronized void offer(long energy, int[] counts) {
+        if (energy > bestEnergy.get()) {
+            bestCounts = counts.clone();
+            bestEnergy.set(energy);
+        }
+    }
+
+    /**
+     * 작업 하나의 탐색 상태 (스레드마다 재고/횟수 배열을 따로 가진다)
+     */
+    private final class Search {
+        private final int[] stock;
+        private final int[] counts = new int[n];
+        private int localNodes;
+
+        private Search(int[] stock) {
+            this.stock = stock.clone();
+        }
+
+        void branch(int firstTimes) {
+            apply(0, firstTimes);
+            dfs(1, cooks - firstTimes, (long) firstTimes * energies[0]);
+            flushNodes();
+        }
+
+        private void dfs(int i, int remaining, long energy) {
+            if (limitReached) return;
+            if (++localNodes >= NODE_FLUSH) flushNodes();
+
+            if (i == n || remaining == 0) {
+                offer(energy, counts);
+                return;
+            }
+            if (energy + bound(i, remaining) <= bestEnergy.get()) return;
+
+            for (int t = maxTimes(i, stock, remaining); t >= 0; t--) {
+                apply(i, t);
+                dfs(i + 1, remaining - t, energy + (long) t * energies[i]);
+                apply(i, -t);
+            }
+        }
+
+        // 재료 공유를 무시하고 레시피별 최대 횟수 안에서 에너지 높은 순으로 채운 상한
+        private long bound(int from, int remaining) {
+            long b = 0;
+            for (int j = from; j < n && remaining > 0; j++) {
+                int t = maxTimes(j, stock, remaining);
+                b += (long) t * energies[j];
+                remaining -= t;
+            }
+            return b;
+        }
+
+        private void apply(int i, int times) {
+            counts[i] += times;
+            for (int k = 0; k < slotIds[i].length; k++) {
+                stock[slotIds[i][k]] -= times * slotNeeds[i][k];
+            }
+        }
+
+        private void flushNodes() {
+            nodes.add(localNodes);
+            localNodes = 0;
+            if (nodes.sum() > nodeLimit || (deadline != 0 && System.nanoTime() - deadline > 0)) limitReached = true;
+        }
+    }
+
+    private static int energyOf(CatalogSnapshot catalog, int recipeIndex) {
+        Integer energy = catalog.energy(recipeIndex);
+        return energy != null ? energy : 0;
+    }
+
+    /**
+     * @param items         요리할 레시피와 횟수 (에너지 내림차순)
+     * @param totalEnergy   에너지 합
+     * @param exhaustive    전체 탐색 완료 여부 (false 면 노드/시간 제한에 걸린 근사해)
+     * @param nodes         탐색 노드 수
+     */
+    public record Plan(
+            List<Item> items,
+            long totalEnergy,
+            boolean exhaustive,
+            long nodes
+    ) {
+        public record Item(
+                int recipeIndex,
+                int times,
+                int energy
+        ) {}
+    }
+}
@@ -0,0 +1,8 @@
+package com.syun.posleep.query;
+
+public interface RecipeIngredientRow {
+    Integer getRecipeId();
+    Integer getIngredientId();
+    Integer getQuantity();
+    Integer getPosition();
+}
@@ -0,0 +1,6 @@
+package com.syun.posleep.query;
+
+public interface UserIngredientQuantityRow {
+    Integer getIngredientId();
+    Integer getQuantity();
+}
@@ -0,0 +1,7 @@
+package com.syun.posleep.query;
+
+public interface UserRecipeFlagRow {
+    Integer getRecipeId();
+    boolean getIsRegistered();
+    boolean getIsTarget();
+}
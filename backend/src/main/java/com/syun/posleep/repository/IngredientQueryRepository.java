@@ -2,8 +2,10 @@ package com.syun.posleep.repository;
 
 import com.syun.posleep.domain.Recipe;
 import com.syun.posleep.query.IngredientSheetRow;
+import com.syun.posleep.query.UserIngredientQuantityRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -11,26 +13,26 @@ public interface IngredientQueryRepository extends JpaRepository<Recipe, Integer
 
         @Query(value = """
         SELECT
-            ui.ingredient_id    AS id,
-            i.name              AS name,
-            ui.is_registered    AS isRegistered,
-            ui.quantity         AS quantity,
-            t.sum_quantity      AS target_quantity
+            i.id                            AS id,
+            i.name                          AS name,
+            COALESCE(ui.is_registered, 0)   AS isRegistered,
+            COALESCE(ui.quantity, 0)        AS quantity,
+            td.quantity                     AS target_quantity
+        FROM ingredient i
+                 LEFT OUTER JOIN user_ingredient ui
+                    ON ui.ingredient_id = i.id  AND ui.user_id = :userId
+                 LEFT OUTER JOIN user_target_demand td
+                    ON td.ingredient_id = i.id  AND td.user_id = :userId
+        ORDER BY i.id
+        """, nativeQuery = true)
+        List<IngredientSheetRow> findIngredientSheet(Integer userId);
+
+        @Query(value = """
+        SELECT
+            ui.ingredient_id    AS ingredientId,
+            ui.quantity         AS quantity
         FROM user_ingredient ui
-                 LEFT OUTER JOIN (  SELECT
-                                        ri.ingredient_id        as ingredient_id,
-                                        SUM(ri.quantity)        as sum_quantity
-                                    FROM recipe_ingredient ri
-                                        LEFT OUTER JOIN recipe r           ON ri.recipe_id = r.id
-                                        LEFT OUTER JOIN user_recipe ur     ON ur.recipe_id = r.id  AND ur.user_id = :userId
-                                    WHERE r.category = (SELECT category FROM pot WHERE user_id = :userId)
-                                        AND ur.is_target
-                                    GROUP BY ri.ingredient_id   ) AS t
-                    ON ui.ingredient_id = t.ingredient_id
-                LEFT OUTER JOIN ingredient i
-                    ON ui.ingredient_id = i.id
         WHERE ui.user_id = :userId
-        ORDER BY ui.id
         """, nativeQuery = true)
-        List<IngredientSheetRow> findIngredientSheet(Integer userId);
+        List<UserIngredientQuantityRow> findUserIngredientQuantities(@Param("userId") Integer userId);
 }
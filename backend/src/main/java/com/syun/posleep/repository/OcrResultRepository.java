@@ -0,0 +1,18 @@
+package com.syun.posleep.repository;
+
+import com.syun.posleep.domain.OcrResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface OcrResultRepository extends JpaRepository<OcrResult, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OcrResult r WHERE r.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
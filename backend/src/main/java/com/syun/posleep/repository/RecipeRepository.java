@@ -4,24 +4,36 @@ import com.syun.posleep.domain.Recipe;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
-import org.springframework.transaction.annotation.Transactional;
 
 public interface RecipeRepository extends CrudRepository<Recipe, Integer> {
 
     @Modifying
-    @Transactional
     @Query(value = """
-            UPDATE user_recipe
-            SET is_registered = :isRegistered,
-                is_target = :isTarget
-            WHERE recipe_id = :recipeId
-                AND (is_registered <> :isRegistered OR is_target <> :isTarget)
-                AND user_id = :userId
+            UPDATE user_recipe ur
+                JOIN recipe r ON r.id = ur.recipe_id
+            SET ur.is_target = :isTarget
+            WHERE ur.user_id = :userId
+                AND r.category = :category
+                AND ur.is_target <> :isTarget
     """, nativeQuery = true)
-    int updateFlags(@Param("recipeId") Integer recipeId,
-                    @Param("isRegistered") boolean isRegistered,
-                    @Param("isTarget") boolean isTarget,
-                    @Param("userId") Integer userId);
+    int updateTargetByCategory(@Param("userId") Integer userId,
+                               @Param("category") String category,
+                               @Param("isTarget") boolean isTarget);
+
+    // sparse 저장: 아직 user_recipe 행이 없는 레시피를 목표로 생성
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_recipe (user_id, recipe_id, is_registered, is_target)
+            SELECT :userId,
+                    r.id,
+                    0,
+                    1
+            FROM recipe r
+            WHERE r.category = :category
+                AND NOT EXISTS (SELECT 1 FROM user_recipe ur WHERE ur.user_id = :userId AND ur.recipe_id = r.id)
+    """, nativeQuery = true)
+    int insertTargetByCategory(@Param("userId") Integer userId,
+                               @Param("category") String category);
 
     @Modifying
     @Query(value = """
@@ -0,0 +1,137 @@
+package com.syun.posleep.repository;
+
+import com.syun.posleep.dto.request.IngredientPatchRow;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * user_ingredient 에 대한 set-based 쓰기 (엔티티 로딩 없이 JDBC 로 직접 실행)
+ */
+@Repository
+public class UserIngredientJdbcRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public UserIngredientJdbcRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 보유 수량을 행 잠금과 함께 읽는다 (차감 전 확인용, 트랜잭션 안에서 호출)
+     * @return ingredient id -> quantity (행이 없는 식재료는 빠진다)
+     */
+    public Map<Integer, Integer> lockQuantities(Integer userId, Collection<Integer> ingredientIds) {
+        Map<Integer, Integer> quantities = new HashMap<>();
+        if (ingredientIds.isEmpty()) return quantities;
+
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+                .addValue("ids", ingredientIds);
+        jdbc.query("""
+            SELECT ingredient_id, quantity
+            FROM user_ingredient
+            WHERE user_id = :userId
+                AND ingredient_id IN (:ids)
+            FOR UPDATE
+            """, params, rs -> {
+            quantities.put(rs.getInt("ingredient_id"), rs.getInt("quantity"));
+        });
+        return quantities;
+    }
+
+    /**
+     * 식재료별 차감량을 UPDATE 한 번으로 반영.
+     * 보유 수량이 차감량 이상인 행만 갱신하므로(quantity >= need) 동시에 요리해도 음수가 되지 않는다.
+     * @param demand    ingredient id -> 차감 수량 (양수만, 0 이하가 있으면 IllegalArgumentException)
+     * @return 갱신된 행 수 (demand.size() 보다 작으면 부족하거나 없는 식재료가 있음)
+     */
+    public int decrease(Integer userId, Map<Integer, Integer> demand) {
+        if (demand.isEmpty()) return 0;
+        for (Map.Entry<Integer, Integer> e : demand.entrySet()) {
+            if (e.getValue() == null || e.getValue() <= 0) {
+                throw new IllegalArgumentException("차감 수량은 양수여야 합니다: ingredient id = " + e.getKey());
+            }
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+                .addValue("ids", demand.keySet());
+        String needCase = caseByIngredient(demand, params);
+
+        String sql = """
+            UPDATE user_ingredient
+            SET quantity = quantity - %s
+            WHERE user_id = :userId
+                AND ingredient_id IN (:ids)
+                AND %s > 0
+                AND quantity >= %s
+            """.formatted(needCase, needCase, needCase);
+        return jdbc.update(sql, params);
+    }
+
+    /**
+     * 변경된 행만 JDBC batch 로 upsert (행이 없으면 생성, null 필드는 기존 값/기본값 유지)
+     */
+    public void upsert(Integer userId, List<IngredientPatchRow> rows) {
+        if (rows.isEmpty()) return;
+
+        SqlParameterSource[] batch = new SqlParameterSource[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            IngredientPatchRow row = rows.get(i);
+            batch[i] = new MapSqlParameterSource("userId", userId)
+                    .addValue("ingredientId", row.getId())
+                    .addValue("quantity", row.getQuantity(), Types.INTEGER)
+                    .addValue("isRegistered", row.getIsRegistered(), Types.BOOLEAN);
+        }
+
+        String sql = """
+            INSERT INTO user_ingredient (user_id, ingredient_id, quantity, is_registered)
+            VALUES (:userId, :ingredientId, COALESCE(:quantity, 0), COALESCE(:isRegistered, 0))
+            ON DUPLICATE KEY UPDATE
+                quantity = COALESCE(:quantity, quantity),
+                is_registered = COALESCE(:isRegistered, is_registered)
+            """;
+        jdbc.batchUpdate(sql, batch);
+    }
+
+    /**
+     * keepIds 를 제외한 유저 식재료 수량을 0 으로
+     * @return 갱신된 행 수
+     */
+    public int resetQuantitiesExcept(Integer userId, Collection<Integer> keepIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        String keep = "";
+        if (!keepIds.isEmpty()) {
+            params.addValue("keepIds", keepIds);
+            keep = "AND ingredient_id NOT IN (:keepIds)";
+        }
+
+        String sql = """
+            UPDATE user_ingredient
+            SET quantity = 0
+            WHERE user_id = :userId
+                AND quantity <> 0
+                %s
+            """.formatted(keep);
+        return jdbc.update(sql, params);
+    }
+
+    // CASE ingredient_id WHEN :id0 THEN :need0 ... END
+    private String caseByIngredient(Map<Integer, Integer> demand, MapSqlParameterSource params) {
+        StringBuilder sb = new StringBuilder("CASE ingredient_id");
+        int i = 0;
+        for (Map.Entry<Integer, Integer> e : demand.entrySet()) {
+            sb.append(" WHEN :id").append(i).append(" THEN :need").append(i);
+            params.addValue("id" + i, e.getKey());
+            params.addValue("need" + i, e.getValue());
+            i++;
+        }
+        return sb.append(" END").toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.syun.posleep.repository;
+
+import com.syun.posleep.dto.request.RecipeEditRow;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * user_recipe 에 대한 set-based 쓰기 (엔티티 로딩 없이 JDBC 로 직접 실행)
+ */
+@Repository
+public class UserRecipeJdbcRepository {
+
+    // IN 목록/CASE 가 너무 길어지지 않도록 한 문장에 담는 최대 행 수
+    private static final int CHUNK_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public UserRecipeJdbcRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 레시피 플래그를 multi-row INSERT ... ON DUPLICATE KEY UPDATE 한 번으로 반영
+     * (행이 없으면 생성, sparse 저장). 호출 측에서 실제로 바뀐 행만 넘긴다.
+     */
+    public void upsertFlags(Integer userId, List<RecipeEditRow> rows) {
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            upsertChunk(userId, rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size())));
+        }
+    }
+
+    private void upsertChunk(Integer userId, List<RecipeEditRow> rows) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        StringJoiner values = new StringJoiner(", ");
+
+        for (int i = 0; i < rows.size(); i++) {
+            RecipeEditRow row = rows.get(i);
+            values.add("(:userId, :id" + i + ", :reg" + i + ", :tgt" + i + ")");
+            params.addValue("id" + i, row.getId());
+            params.addValue("reg" + i, row.getIsRegistered());
+            params.addValue("tgt" + i, row.getIsTarget());
+        }
+
+        String sql = """
+            INSERT INTO user_recipe (user_id, recipe_id, is_registered, is_target)
+            VALUES %s
+            ON DUPLICATE KEY UPDATE
+                is_registered = VALUES(is_registered),
+                is_target = VALUES(is_target)
+            """.formatted(values);
+        jdbc.update(sql, params);
+    }
+}
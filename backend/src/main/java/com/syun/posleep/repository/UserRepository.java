@@ -2,6 +2,9 @@ package com.syun.posleep.repository;
 
 import com.syun.posleep.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -10,4 +13,18 @@ public interface UserRepository extends JpaRepository<User, String> {
     boolean existsByName(String name);
 
     Optional<User> findByName(String name);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :userId")
+    int incrementTokenVersion(@Param("userId") Integer userId);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :userId")
+    Integer findTokenVersion(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = "UPDATE user SET data_version = data_version + 1 WHERE id = :userId", nativeQuery = true)
+    int incrementDataVersion(@Param("userId") Integer userId);
+
+    @Query(value = "SELECT data_version FROM user WHERE id = :userId", nativeQuery = true)
+    Long findDataVersion(@Param("userId") Integer userId);
 }
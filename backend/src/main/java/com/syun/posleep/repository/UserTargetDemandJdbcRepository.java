@@ -0,0 +1,41 @@
+package com.syun.posleep.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * user_target_demand 유지보수.
+ * 목표 수량 = 냄비 카테고리와 같은 목표 레시피들의 recipe_ingredient.quantity 합
+ */
+@Repository
+public class UserTargetDemandJdbcRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public UserTargetDemandJdbcRepository(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * 한 유저의 요약을 처음부터 다시 계산.
+     * DELETE 가 유저 행 범위를 잠그므로 같은 유저의 동시 재계산은 순서대로 돌고, 뒤에 도는 쪽이 최신 user_recipe 를 읽는다
+     */
+    public void rebuild(Integer userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        jdbc.update("DELETE FROM user_target_demand WHERE user_id = :userId", params);
+        jdbc.update("""
+            INSERT INTO user_target_demand (user_id, ingredient_id, quantity)
+            SELECT ur.user_id,
+                    ri.ingredient_id,
+                    SUM(ri.quantity)
+            FROM user_recipe ur
+                JOIN recipe r               ON ur.recipe_id = r.id
+                JOIN pot p                  ON p.user_id = ur.user_id AND r.category = p.category
+                JOIN recipe_ingredient ri   ON ri.recipe_id = r.id
+            WHERE ur.user_id = :userId
+                AND ur.is_target
+            GROUP BY ur.user_id, ri.ingredient_id
+            """, params);
+    }
+}
@@ -14,6 +14,7 @@ public class CustomUserDetails implements UserDetails {
     private final Integer userId;
     private final String username;
     private final String password;
+    private final int tokenVersion;
     private final Collection<? extends GrantedAuthority> authorities;
 
     @Override
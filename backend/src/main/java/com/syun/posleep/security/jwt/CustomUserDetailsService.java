@@ -31,6 +31,7 @@ public class CustomUserDetailsService implements UserDetailsService {
                 user.getId(),
                 user.getName(),
                 user.getPassword(),
+                user.getTokenVersion(),
                 authorities
         );
     }
@@ -1,5 +1,6 @@
 package com.syun.posleep.security.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,9 +27,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
 
         String token = resolveToken(request);
 
-        if (token != null && tokenProvider.validateToken(token)) {
-            Authentication auth = tokenProvider.getAuthentication(token);
-            SecurityContextHolder.getContext().setAuthentication(auth);
+        Claims claims = (token != null) ? tokenProvider.resolveClaims(token) : null;
+        if (claims != null) {
+            Authentication auth = tokenProvider.getAuthentication(claims);
+            if (auth != null) {
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
         }
 
         filterChain.doFilter(request, response);
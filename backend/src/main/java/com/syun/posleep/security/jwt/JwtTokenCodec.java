@@ -0,0 +1,104 @@
+package com.syun.posleep.security.jwt;
+
+import com.syun.posleep.cache.TtlCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * JWT 생성/검증.
+ * 파서는 한 번만 만들어 재사용하고(thread-safe), 서명 검증이 끝난 토큰은
+ * 토큰 digest 를 키로 만료 시각까지 캐시한다.
+ */
+public class JwtTokenCodec {
+
+    static final String CLAIM_USER_ID = "userId";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_VERSION = "ver";
+
+    private final Key secretKey;
+    private final long validityInMs;
+    private final JwtParser parser;
+
+    // token digest -> 검증된 claims
+    private final TtlCache<String, Claims> verifiedTokens;
+
+    public JwtTokenCodec(Key secretKey, long validityInMs, int cacheMaxSize, long cacheTtlMs) {
+        this.secretKey = secretKey;
+        this.validityInMs = validityInMs;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        this.verifiedTokens = new TtlCache<>(cacheMaxSize, cacheTtlMs);
+    }
+
+    public String createToken(Integer userId, String name, String role, int tokenVersion) {
+        Date now = new Date();
+        Date validity = new Date(now.getTime() + validityInMs);
+
+        return Jwts.builder()
+                .setSubject(name)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_VERSION, tokenVersion)
+                .setIssuedAt(now)
+                .setExpiration(validity)
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * 서명/만료 검증 후 claims 반환 (캐시 미사용)
+     * @throws JwtException 검증 실패
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * 캐시를 거쳐 검증된 claims 반환
+     * @return claims, 검증 실패 시 null
+     */
+    public Claims verify(String token) {
+        if (token == null || token.isEmpty()) return null;
+        if (!verifiedTokens.isEnabled()) return parseOrNull(token);
+
+        String key = digest(token);
+        Claims cached = verifiedTokens.get(key);
+        if (cached != null) return cached;
+
+        Claims claims = parseOrNull(token);
+        if (claims != null) {
+            Date exp = claims.getExpiration();
+            verifiedTokens.put(key, claims, exp != null ? exp.getTime() : Long.MAX_VALUE);
+        }
+        return claims;
+    }
+
+    private Claims parseOrNull(String token) {
+        try {
+            return parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
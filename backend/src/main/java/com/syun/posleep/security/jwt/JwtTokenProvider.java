@@ -1,88 +1,172 @@
 package com.syun.posleep.security.jwt;
 
+import com.syun.posleep.cache.TtlCache;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
-import java.util.Date;
+import java.util.List;
+
+import static com.syun.posleep.security.jwt.JwtTokenCodec.CLAIM_ROLE;
+import static com.syun.posleep.security.jwt.JwtTokenCodec.CLAIM_USER_ID;
+import static com.syun.posleep.security.jwt.JwtTokenCodec.CLAIM_VERSION;
 
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+
     @Value("${jwt.secret}")
     private String secretKeyPlain;
 
     @Value("${jwt.expiration-ms}")
     private long validityInMs;
 
-    private Key secretKey;
+    @Value("${jwt.principal-source:claims}")
+    private String principalSourceName;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private int principalCacheMaxSize;
+
+    @Value("${jwt.principal-cache.ttl-ms:60000}")
+    private long principalCacheTtlMs;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize;
+
+    @Value("${jwt.verified-cache.ttl-ms:300000}")
+    private long verifiedCacheTtlMs;
+
+    private JwtTokenCodec codec;
+
+    private PrincipalSource principalSource;
+
+    // userId -> principal (CACHED 모드)
+    private TtlCache<Integer, CustomUserDetails> principalCache;
 
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry revocationRegistry;
 
     @PostConstruct
     protected void init() {
-        this.secretKey = Keys.hmacShaKeyFor(secretKeyPlain.getBytes(StandardCharsets.UTF_8));
+        this.codec = new JwtTokenCodec(
+                Keys.hmacShaKeyFor(secretKeyPlain.getBytes(StandardCharsets.UTF_8)),
+                validityInMs,
+                verifiedCacheMaxSize,
+                verifiedCacheTtlMs);
+        this.principalSource = PrincipalSource.from(principalSourceName);
+        this.principalCache = new TtlCache<>(
+                principalSource == PrincipalSource.CACHED ? principalCacheMaxSize : 0,
+                principalCacheTtlMs);
     }
 
     /**
      * JWT 생성
-     * @param userId    DB PK (user.id)
-     * @param name      로그인 ID (user.name)
+     * @param userId        DB PK (user.id)
+     * @param name          로그인 ID (user.name)
+     * @param role          권한 (user.role)
+     * @param tokenVersion  토큰 버전 (user.token_version)
      * @return
      */
-    public String createToken(Integer userId, String name) {
-        Date now = new Date();
-        Date validity = new Date(now.getTime() + validityInMs);
-
-        return Jwts.builder()
-                .setSubject(name)
-                .claim("userId", userId)
-                .setIssuedAt(now)
-                .setExpiration(validity)
-                .signWith(secretKey, SignatureAlgorithm.HS256)
-                .compact();
+    public String createToken(Integer userId, String name, String role, int tokenVersion) {
+        return codec.createToken(userId, name, role, tokenVersion);
+    }
+
+    /**
+     * 토큰 검증 (요청당 한 번 호출하고 결과를 그대로 넘긴다)
+     * @return 검증된 claims, 유효하지 않으면 null
+     */
+    public Claims resolveClaims(String token) {
+        return codec.verify(token);
+    }
+
+    /**
+     * @param claims    resolveClaims() 로 검증된 claims
+     * @return 인증 객체, 폐기된 토큰이거나 유저가 없으면 null
+     */
+    public Authentication getAuthentication(Claims claims) {
+        CustomUserDetails principal = resolvePrincipal(claims);
+        if (principal == null) return null;
+        return new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities());
     }
 
-    public Authentication getAuthentication(String token) {
-        String userId = getUsername(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
-        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+    /**
+     * 토큰 폐기 반영 (revocation registry 갱신 + principal 캐시 제거)
+     */
+    public void revoke(Integer userId, int minVersion) {
+        revocationRegistry.revoke(userId, minVersion);
+        principalCache.remove(userId);
     }
 
     public Integer getUserId(String token) {
-        return parseClaims(token).get("userId", Integer.class);
+        Claims claims = codec.verify(token);
+        return claims != null ? claims.get(CLAIM_USER_ID, Integer.class) : null;
     }
 
     public String getUsername(String token) {
-        return parseClaims(token).getSubject();
+        Claims claims = codec.verify(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
-    private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean validateToken(String token) {
+        return codec.verify(token) != null;
     }
 
-    public boolean validateToken(String token) {
+    /* ====== Principal ====== */
+
+    private CustomUserDetails resolvePrincipal(Claims claims) {
+        Integer userId = claims.get(CLAIM_USER_ID, Integer.class);
+        int version = tokenVersion(claims);
+
+        switch (principalSource) {
+            case CLAIMS -> {
+                if (userId == null || revocationRegistry.isRevoked(userId, version)) return null;
+                String role = claims.get(CLAIM_ROLE, String.class);
+                return new CustomUserDetails(
+                        userId,
+                        claims.getSubject(),
+                        "",
+                        version,
+                        List.of(new SimpleGrantedAuthority(role != null ? role : DEFAULT_ROLE))
+                );
+            }
+            case CACHED -> {
+                if (userId == null) return null;
+                CustomUserDetails principal = principalCache.getOrLoad(userId, id -> loadOrNull(claims.getSubject()));
+                return isCurrent(principal, version) ? principal : null;
+            }
+            default -> {
+                CustomUserDetails principal = loadOrNull(claims.getSubject());
+                return isCurrent(principal, version) ? principal : null;
+            }
+        }
+    }
+
+    private CustomUserDetails loadOrNull(String name) {
         try {
-            parseClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            UserDetails userDetails = userDetailsService.loadUserByUsername(name);
+            return (CustomUserDetails) userDetails;
+        } catch (UsernameNotFoundException e) {
+            return null;
         }
     }
+
+    private boolean isCurrent(CustomUserDetails principal, int version) {
+        return principal != null && version >= principal.getTokenVersion();
+    }
+
+    private int tokenVersion(Claims claims) {
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        return version != null ? version : 0;
+    }
 }
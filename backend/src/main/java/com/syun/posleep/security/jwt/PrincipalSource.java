@@ -0,0 +1,17 @@
+package com.syun.posleep.security.jwt;
+
+/**
+ * 인증 주체(CustomUserDetails)를 어디서 만들지
+ */
+public enum PrincipalSource {
+    // 서명된 claim 만으로 생성 (DB 조회 없음)
+    CLAIMS,
+    // DB 조회 결과를 TTL 캐시에 보관
+    CACHED,
+    // 매 요청 DB 조회
+    DATABASE;
+
+    public static PrincipalSource from(String value) {
+        return PrincipalSource.valueOf(value.trim().toUpperCase());
+    }
+}
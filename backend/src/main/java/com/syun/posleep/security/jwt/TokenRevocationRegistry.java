@@ -0,0 +1,40 @@
+package com.syun.posleep.security.jwt;
+
+import com.syun.posleep.cache.TtlCache;
+import com.syun.posleep.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저별 최소 유효 토큰 버전 (user.token_version).
+ * 토큰의 ver claim 이 현재 버전보다 낮으면 폐기된 토큰으로 본다.
+ * 버전은 recheck-ms 동안만 캐시하고 지나면 DB 에서 다시 읽으므로,
+ * 다른 인스턴스에서 /auth/logout-all 한 결과도 최대 recheck-ms 안에 반영된다. (같은 인스턴스는 revoke() 로 즉시)
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private final UserRepository userRepository;
+
+    // userId -> token_version
+    private final TtlCache<Integer, Integer> versions;
+
+    public TokenRevocationRegistry(UserRepository userRepository,
+                                   @Value("${jwt.revocation.max-size:100000}") int maxSize,
+                                   @Value("${jwt.revocation.recheck-ms:30000}") long recheckMs) {
+        this.userRepository = userRepository;
+        this.versions = new TtlCache<>(maxSize, recheckMs);
+    }
+
+    /**
+     * @return 폐기된 토큰이거나 유저가 없으면 true
+     */
+    public boolean isRevoked(Integer userId, int tokenVersion) {
+        Integer current = versions.getOrLoad(userId, userRepository::findTokenVersion);
+        return current == null || tokenVersion < current;
+    }
+
+    public void revoke(Integer userId, int minVersion) {
+        versions.put(userId, minVersion);
+    }
+}
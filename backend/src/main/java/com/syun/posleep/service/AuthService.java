@@ -7,6 +7,7 @@ import com.syun.posleep.repository.PotRepository;
 import com.syun.posleep.repository.RecipeRepository;
 import com.syun.posleep.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +19,10 @@ public class AuthService {
     private final IngredientRepository ingredientRepository;
     private final PotRepository potRepository;
 
+    // true 면 기본값(수량 0 / 미등록) 행을 미리 만들지 않는다
+    @Value("${posleep.inventory.sparse:true}")
+    private boolean sparseInventory;
+
     @Transactional
     public void register(String userName, String encodedPassword) {
         User user = new User(userName, encodedPassword);
@@ -26,8 +31,20 @@ public class AuthService {
         Pot pot = new Pot(user, 0, false, null);
         potRepository.save(pot);
 
+        if (sparseInventory) return;
+
         recipeRepository.initForUser(user.getId());
 
         ingredientRepository.initForUser(user.getId());
     }
+
+    /**
+     * 토큰 버전을 올려 기존에 발급된 토큰을 모두 폐기한다.
+     * @return 새 토큰 버전 (이보다 낮은 ver claim 은 거부)
+     */
+    @Transactional
+    public int revokeTokens(Integer userId) {
+        userRepository.incrementTokenVersion(userId);
+        return userRepository.findTokenVersion(userId);
+    }
 }
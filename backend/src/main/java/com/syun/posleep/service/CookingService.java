@@ -1,11 +1,16 @@
 package com.syun.posleep.service;
 
 import com.syun.posleep.domain.RecipeIngredient;
+import com.syun.posleep.dto.request.CookBatchRow;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -19,12 +24,57 @@ public class CookingService {
         this.ingredientService = ingredientService;
     }
 
+    /**
+     * @throws IllegalArgumentException 없는 레시피이거나 식재료가 없는 레시피 (배치와 같은 기준)
+     */
     @Transactional
     public void runCooking(Integer recipeId, Integer userId) {
         List<RecipeIngredient> recipeIngredientList = recipeService.findRecipeIngredient(recipeId);
-        // 식재료 수량 확인 (부족 시 예외)
-        ingredientService.ensureAllEnough(recipeIngredientList, userId);
-//        // 식재료 차감
-        ingredientService.decreaseByRecipe(recipeIngredientList, userId);
+        if (recipeIngredientList.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 레시피 입니다: " + recipeId);
+        }
+
+        Map<Integer, Integer> demand = new LinkedHashMap<>();
+        for (RecipeIngredient ri : recipeIngredientList) {
+            demand.merge(ri.getIngredientId(), ri.getQuantity(), Integer::sum);
+        }
+        // 식재료 차감 (잠금 읽기로 확인 후 차감, 부족 시 예외)
+        ingredientService.decreaseAll(demand, userId);
+    }
+
+    /**
+     * 여러 레시피를 한 번에 요리 (전부 성공하거나 전부 실패)
+     * @return 총 요리 횟수
+     * @throws ArithmeticException 필요 수량 합이 int 범위를 넘는 경우 (음수로 감싸져 재고가 늘어나지 않도록)
+     * @throws IllegalArgumentException 없는 레시피가 포함된 경우
+     */
+    @Transactional
+    public int runCookingBatch(List<CookBatchRow> rows, Integer userId) {
+        // recipe id -> 횟수 (중복 요청은 합산)
+        Map<Integer, Integer> timesByRecipe = new LinkedHashMap<>();
+        for (CookBatchRow row : rows) {
+            timesByRecipe.merge(row.getRecipeId(), row.getTimes(), Math::addExact);
+        }
+
+        // ingredient id -> 총 필요 수량
+        Map<Integer, Integer> demand = new LinkedHashMap<>();
+        Set<Integer> found = new HashSet<>();
+        for (RecipeIngredient ri : recipeService.findRecipeIngredients(timesByRecipe.keySet())) {
+            Integer recipeId = ri.getRecipe().getId();
+            found.add(recipeId);
+            demand.merge(ri.getIngredientId(), Math.multiplyExact(ri.getQuantity(), timesByRecipe.get(recipeId)), Math::addExact);
+        }
+        for (Integer recipeId : timesByRecipe.keySet()) {
+            if (!found.contains(recipeId)) {
+                throw new IllegalArgumentException("존재하지 않는 레시피 입니다: " + recipeId);
+            }
+        }
+
+        // 식재료 일괄 차감 (잠금 읽기로 확인 후 차감, 부족 시 예외)
+        ingredientService.decreaseAll(demand, userId);
+
+        int total = timesByRecipe.values().stream().reduce(0, Math::addExact);
+        log.info("[CookingService.runCookingBatch] {}개 레시피, {}회 요리", timesByRecipe.size(), total);
+        return total;
     }
 }
@@ -0,0 +1,85 @@
+package com.syun.posleep.service;
+
+import com.syun.posleep.cache.TtlCache;
+import com.syun.posleep.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 유저별 데이터 버전 (user.data_version).
+ * 쓰기 경로가 bump() 하면 같은 트랜잭션 안에서 DB 값을 올리고, 커밋된 뒤에만 메모리 값을 갱신한다.
+ * 메모리 값은 항상 max 로 합치므로 늦게 도착한 조회 결과가 버전을 되돌리지 않는다.
+ * 조회(current)는 메모리에 있으면 DB 를 읽지 않는다. 메모리 값은 크기 제한 + ttl-ms 동안만 유지하고
+ * 지나면 DB 에서 다시 읽으므로, 다른 인스턴스에서 일어난 쓰기는 최대 ttl-ms 늦게 반영된다.
+ */
+@Service
+public class DataVersionService {
+
+    private final UserRepository userRepository;
+
+    // userId -> 커밋된 data_version
+    private final TtlCache<Integer, Long> versions;
+
+    public DataVersionService(UserRepository userRepository,
+                              @Value("${posleep.data-version.max-size:10000}") int maxSize,
+                              @Value("${posleep.data-version.ttl-ms:5000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.versions = new TtlCache<>(maxSize, ttlMs);
+    }
+
+    public long current(Integer userId) {
+        Long cached = versions.get(userId);
+        if (cached != null) return cached;
+
+        Long loaded = userRepository.findDataVersion(userId);
+        return versions.merge(userId, loaded != null ? loaded : 0L, Math::max);
+    }
+
+    /**
+     * 유저 데이터가 바뀌었음을 기록 (트랜잭션당 유저별 한 번만 증가)
+     */
+    public void bump(Integer userId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            versions.merge(userId, increment(userId), Math::max);
+            return;
+        }
+        if (!bumpedInTransaction().add(userId)) return;
+
+        long version = increment(userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.merge(userId, version, Math::max);
+            }
+        });
+    }
+
+    private long increment(Integer userId) {
+        userRepository.incrementDataVersion(userId);
+        Long version = userRepository.findDataVersion(userId);
+        return version != null ? version : 0L;
+    }
+
+    // 현재 트랜잭션에서 이미 bump 한 userId
+    @SuppressWarnings("unchecked")
+    private Set<Integer> bumpedInTransaction() {
+        Set<Integer> bumped = (Set<Integer>) TransactionSynchronizationManager.getResource(this);
+        if (bumped == null) {
+            Set<Integer> created = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionService.this);
+                }
+            });
+            bumped = created;
+        }
+        return bumped;
+    }
+}
@@ -1,141 +1,117 @@
 package com.syun.posleep.service;
 
 
-import com.google.cloud.vision.v1.*;
-import com.google.protobuf.ByteString;
-import com.syun.posleep.domain.UserIngredient;
-import com.syun.posleep.repository.UserIngredientRepository;
+import com.syun.posleep.catalog.CatalogSnapshot;
+import com.syun.posleep.catalog.NameMatch;
+import com.syun.posleep.catalog.RecipeCatalog;
+import com.syun.posleep.dto.request.IngredientPatchRow;
+import com.syun.posleep.ocr.ImagePreprocessor;
+import com.syun.posleep.ocr.OcrEngine;
+import com.syun.posleep.ocr.OcrImage;
+import com.syun.posleep.ocr.OcrResultCache;
+import com.syun.posleep.ocr.OcrTextParser;
+import com.syun.posleep.repository.UserIngredientJdbcRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 public class IngredientOcrService {
-    private final Pattern COUNT_LINE = Pattern.compile("^[xX]\\s*(\\d{1,3})$");
-    private final Pattern KOREAN_NAME = Pattern.compile(".*[가-힣].*");
-    private final String END_ANCHORS = "돌아간다";
-
-    private final UserIngredientRepository repo;
-
-    public IngredientOcrService(UserIngredientRepository repo) {
-        this.repo = repo;
+    private final UserIngredientJdbcRepository jdbcRepository;
+    private final RecipeCatalog recipeCatalog;
+    private final OcrResultCache resultCache;
+    private final OcrEngine ocrEngine;
+    private final ImagePreprocessor preprocessor;
+    private final DataVersionService dataVersionService;
+
+    public IngredientOcrService(UserIngredientJdbcRepository jdbcRepository,
+                                RecipeCatalog recipeCatalog,
+                                OcrResultCache resultCache,
+                                OcrEngine ocrEngine,
+                                ImagePreprocessor preprocessor,
+                                DataVersionService dataVersionService) {
+        this.jdbcRepository = jdbcRepository;
+        this.recipeCatalog = recipeCatalog;
+        this.resultCache = resultCache;
+        this.ocrEngine = ocrEngine;
+        this.preprocessor = preprocessor;
+        this.dataVersionService = dataVersionService;
     }
 
-    @Transactional
-    public void processAndApply(MultipartFile image, Integer userId) throws Exception {
-        String fullText = callVision(image);
-
-        Map<String,Integer> ocrResults = parseNameCounts(fullText);
-        List<UserIngredient> userIngredients = repo.findByUserId(userId);
-
-        for (UserIngredient ing : userIngredients) {
-            String name = ing.getIngredient().getName();
-            Integer parseCount = ocrResults.get(name);
-
-            if (parseCount != null) {
-                ing.setQuantity(parseCount);
-                ing.setIsRegistered(true);
-            } else {
-                ing.setQuantity(0);
-            }
+    /**
+     * 이미지에서 식재료 이름 -> 수량 인식 (외부 호출, 트랜잭션 없음)
+     * 같은 이미지(SHA-256)는 캐시된 결과를 사용하고 OCR 엔진을 호출하지 않는다.
+     */
+    public Map<String, Integer> recognize(OcrImage image) {
+        String digest = image.digest();
+        Map<String, Integer> cached = resultCache.get(digest);
+        if (cached != null) {
+            log.debug("[IngredientOcrService] 캐시 사용 digest={}", digest);
+            return cached;
         }
-    }
 
-    private String callVision(MultipartFile image) throws Exception {
-        ByteString imgBytes = ByteString.copyFrom(image.getBytes());
-        Image img = Image.newBuilder().setContent(imgBytes).build();
-
-        Feature feat = Feature.newBuilder()
-                .setType(Feature.Type.TEXT_DETECTION)
-                .build();
-
-        AnnotateImageRequest request = AnnotateImageRequest.newBuilder()
-                .addFeatures(feat)
-                .setImage(img)
-                .build();
-
-        try (ImageAnnotatorClient client = ImageAnnotatorClient.create()) {
-            BatchAnnotateImagesResponse response = client.batchAnnotateImages(List.of(request));
-            AnnotateImageResponse res = response.getResponses(0);
-
-            if (res.hasError()) {
-                throw new IllegalStateException(res.getError().getMessage());
-            }
-
-            return res.getFullTextAnnotation().getText();
-        }
+        String fullText = ocrEngine.recognize(preprocessor.process(image));
+        Map<String, Integer> result = OcrTextParser.parse(fullText);
+        resultCache.put(digest, result);
+        return result;
     }
 
-    private Map<String, Integer> parseNameCounts(String fullText) {
-        Deque<Integer> counts = new ArrayDeque<>();
-        Deque<String> names = new ArrayDeque<>();
-        Map<String, Integer> result = new LinkedHashMap<>();
-
-        List<String> rawLines = Arrays.stream(fullText.split("\\R"))
-                .map(String::trim)
-                .toList();
-        int startIdx = findStartIndex(rawLines);
-        int endIdx = findEndIndex(rawLines, startIdx, END_ANCHORS);
-
-        List<String> lines = rawLines.subList(startIdx, endIdx);
-        for (String raw : lines) {
-            String line = normalizeLine(raw);
-            if (line.isEmpty()) continue;
-
-            Matcher m = COUNT_LINE.matcher(line);
-            if (m.matches()) {
-                int c = Integer.parseInt(m.group(1));
-                counts.addLast(c);
+    /**
+     * 인식 결과 반영 (짧은 트랜잭션)
+     * @return 반영된 식재료 수
+     */
+    @Transactional
+    public int apply(Map<String, Integer> ocrResults, Integer userId) {
+        CatalogSnapshot catalog = recipeCatalog.snapshot();
+
+        // 인식된 식재료는 수량/등록 upsert, 화면에 없던 식재료만 수량 0
+        // ingredient id -> 반영할 매칭 (같은 식재료로 매칭된 토큰이 여럿이면 거리가 가장 가까운 것, 같으면 먼저 나온 것)
+        Map<Integer, NameMatch> best = new LinkedHashMap<>();
+        Map<Integer, Integer> quantities = new HashMap<>();
+        // 판단을 보류했지만 화면에 있었을 수 있는 식재료 (0 으로 지우지 않는다)
+        Set<Integer> keepIds = new HashSet<>();
+        boolean unmatched = false;
+
+        for (Map.Entry<String, Integer> e : ocrResults.entrySet()) {
+            NameMatch match = catalog.resolveIngredient(e.getKey());
+            if (match == null) {
+                log.info("[IngredientOcrService.apply] 매칭 실패: {}", e.getKey());
+                unmatched = true;
+                continue;
             }
-            if (isName(line)) {
-                names.addLast(line);
+            if (match.isAmbiguous()) {
+                log.info("[IngredientOcrService.apply] 후보가 여러 개라 보류: {} -> {} {}", e.getKey(), match.name(), match.ambiguities());
+                keepIds.add(match.ingredientId());
+                keepIds.addAll(match.ambiguityIds());
+                continue;
             }
-
-            while (!counts.isEmpty() && !names.isEmpty()) {
-                result.put(names.removeFirst(), counts.removeFirst());
+            if (!match.isExact()) {
+                log.info("[IngredientOcrService.apply] 보정: {} -> {} (confidence={})", e.getKey(), match.name(), match.confidence());
             }
-        }
-        return result;
-    }
-
-    private int findStartIndex(List<String> lines) {
-        for (int i = 0; i < lines.size(); i++) {
-            if (lines.get(i).trim().charAt(0) == 'x') {
-                return Math.min(i, lines.size());
+            NameMatch prev = best.get(match.ingredientId());
+            if (prev == null || match.distance() < prev.distance()) {
+                best.put(match.ingredientId(), match);
+                quantities.put(match.ingredientId(), e.getValue());
             }
         }
-        return 0;
-    }
 
-    private int findEndIndex(List<String> lines, int from, String endAnchor) {
-        for (int i = from; i < lines.size(); i++) {
-            if (endAnchor.equals(lines.get(i).trim())) {
-                return i;
-            }
+        List<IngredientPatchRow> matched = new ArrayList<>(best.size());
+        for (Integer ingredientId : best.keySet()) {
+            matched.add(new IngredientPatchRow(ingredientId, true, quantities.get(ingredientId)));
         }
-        return lines.size();
-    }
-
-    private String normalizeLine(String s) {
-        if (s == null) return "";
-        String t = s.trim();
-        t = t.replaceAll("^[※+↑\\-\\s]+", "");
-        t = t.replaceAll("[※+↑\\-\\s]+$", "");
-        return t;
-    }
-
-    private boolean isName(String s) {
-        if (s.isEmpty()) return false;
-        if (!KOREAN_NAME.matcher(s).matches()) return false;
-        if (s.length() < 2 || s.length() > 20) return false;
-        if (COUNT_LINE.matcher(s).matches()) return false;
-        if (s.split(" ").length > 1) return false;
-        return true;
+        keepIds.addAll(best.keySet());
+
+        jdbcRepository.upsert(userId, matched);
+        if (unmatched) {
+            // 어떤 식재료를 잘못 읽었는지 모르므로 나머지를 0 으로 지우지 않는다
+            log.info("[IngredientOcrService.apply] 매칭 실패 토큰이 있어 미인식 식재료 초기화 생략 user={}", userId);
+        } else {
+            jdbcRepository.resetQuantitiesExcept(userId, keepIds);
+        }
+        dataVersionService.bump(userId);
+        return matched.size();
     }
 }
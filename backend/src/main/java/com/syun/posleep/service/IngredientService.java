@@ -1,22 +1,26 @@
 package com.syun.posleep.service;
 
+import com.syun.posleep.catalog.RecipeCatalog;
 import com.syun.posleep.domain.Ingredient;
-import com.syun.posleep.domain.RecipeIngredient;
 import com.syun.posleep.domain.UserIngredient;
 import com.syun.posleep.dto.request.IngredientEditRow;
 import com.syun.posleep.dto.request.IngredientForm;
+import com.syun.posleep.dto.request.IngredientPatchRow;
 import com.syun.posleep.query.IngredientSheetRow;
 import com.syun.posleep.query.RecipeSheetRow;
 import com.syun.posleep.repository.IngredientQueryRepository;
 import com.syun.posleep.repository.IngredientRepository;
+import com.syun.posleep.repository.UserIngredientJdbcRepository;
 import com.syun.posleep.repository.UserIngredientRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -27,9 +31,19 @@ public class IngredientService {
 //    private final IngredientRepository repo;
     private final UserIngredientRepository repo;
     private final IngredientQueryRepository queryRepository;
-    public IngredientService(UserIngredientRepository repo, IngredientQueryRepository queryRepository) {
+    private final UserIngredientJdbcRepository jdbcRepository;
+    private final RecipeCatalog recipeCatalog;
+    private final DataVersionService dataVersionService;
+    public IngredientService(UserIngredientRepository repo,
+                             IngredientQueryRepository queryRepository,
+                             UserIngredientJdbcRepository jdbcRepository,
+                             RecipeCatalog recipeCatalog,
+                             DataVersionService dataVersionService) {
         this.repo = repo;
         this.queryRepository = queryRepository;
+        this.jdbcRepository = jdbcRepository;
+        this.recipeCatalog = recipeCatalog;
+        this.dataVersionService = dataVersionService;
     }
 
     @Transactional(readOnly = true)
@@ -46,42 +60,94 @@ public class IngredientService {
                 .collect(Collectors.toMap(ui -> ui.getIngredient().getId(), Function.identity()));
 
         int changed = 0;
+        // 아직 행이 없는 식재료 (sparse 저장) -> upsert
+        List<IngredientPatchRow> missing = new ArrayList<>();
         for (IngredientEditRow r : form.getRows()) {
+            requireIngredient(r.getId());
             UserIngredient ui = map.get(r.getId());
 
             if (ui == null) {
-                throw new EntityNotFoundException("Ingredient not found: id = " + r.getId());
+                if (r.getIsRegistered() || r.getQuantity() != 0) {
+                    missing.add(new IngredientPatchRow(r.getId(), r.getIsRegistered(), r.getQuantity()));
+                    changed++;
+                }
+                continue;
             }
 
-            if (ui.getIsRegistered() != r.getIsRegistered() || ui.getQuantity() != r.getQuantity()) {
+            if (ui.getIsRegistered() != r.getIsRegistered() || !Objects.equals(ui.getQuantity(), r.getQuantity())) {
                 ui.setIsRegistered(r.getIsRegistered());
                 ui.setQuantity(r.getQuantity());
                 changed++;
             }
         }
+        jdbcRepository.upsert(userId, missing);
+        if (changed > 0) {
+            dataVersionService.bump(userId);
+        }
 
         log.info("[IngredientService.update] {}건 업데이트 성공", changed);
     }
 
-    @Transactional(readOnly = true)
-    public void ensureAllEnough(List<RecipeIngredient> recipeIngredientList, Integer userId) {
-        Map<Integer, UserIngredient> map = repo.findByUserId(userId).stream()
-                .collect(Collectors.toMap(ui -> ui.getIngredient().getId(), Function.identity()));
+    /**
+     * 변경된 행만 반영 (엔티티 로딩 없이 JDBC batch upsert 한 번)
+     */
+    @Transactional
+    public void patch(List<IngredientPatchRow> rows, Integer userId) {
+        if (rows == null || rows.isEmpty()) return;
 
-        for (RecipeIngredient r : recipeIngredientList) {
-            UserIngredient i = map.get(r.getIngredientId());
-            if (i.getQuantity() < r.getQuantity()) {
-                throw new IllegalStateException("식재료 부족: " + i.getIngredient().getName());
-            }
+        for (IngredientPatchRow row : rows) {
+            requireIngredient(row.getId());
         }
+        jdbcRepository.upsert(userId, rows);
+        dataVersionService.bump(userId);
+
+        log.info("[IngredientService.patch] {}건 업데이트 성공", rows.size());
     }
 
+    /**
+     * 식재료 일괄 차감. 보유 수량을 잠금 읽기로 먼저 확인하고 (부족하면 예외 -> 트랜잭션 롤백),
+     * 통과하면 조건부 UPDATE 한 번으로 차감한다.
+     * @param demand    ingredient id -> 차감 수량
+     * @throws IllegalStateException 부족한 식재료가 있거나 없는 식재료가 포함된 경우 (해당 식재료만 알려준다)
+     */
     @Transactional
-    public void decreaseByRecipe(List<RecipeIngredient> recipeIngredientList, Integer userId) {
-        for (RecipeIngredient r : recipeIngredientList) {
-            UserIngredient i = repo.findByUserIdAndIngredientId(userId, r.getIngredientId())
-                    .orElseThrow(() -> new IllegalStateException("존재하지 않는 식재료 입니다: " + r.getIngredientId()));
-            i.decrease(r.getQuantity());
+    public void decreaseAll(Map<Integer, Integer> demand, Integer userId) {
+        if (demand.isEmpty()) return;
+
+        Map<Integer, Integer> have = jdbcRepository.lockQuantities(userId, demand.keySet());
+        List<String> shortages = new ArrayList<>();
+        List<Integer> unknown = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> e : demand.entrySet()) {
+            Integer quantity = have.get(e.getKey());
+            if (quantity == null && !recipeCatalog.snapshot().hasIngredient(e.getKey())) {
+                unknown.add(e.getKey());
+            } else if ((quantity != null ? quantity : 0) < e.getValue()) {
+                shortages.add(ingredientName(e.getKey()));
+            }
         }
+        if (!shortages.isEmpty()) {
+            throw new IllegalStateException("식재료 부족: " + String.join(", ", shortages));
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalStateException("존재하지 않는 식재료가 포함되어 있습니다: " + unknown);
+        }
+
+        // 위에서 잠근 행만 갱신하므로 전부 통과해야 한다 (quantity >= need 조건은 안전장치)
+        int updated = jdbcRepository.decrease(userId, demand);
+        if (updated != demand.size()) {
+            throw new IllegalStateException("식재료 차감 실패: " + updated + "/" + demand.size());
+        }
+        dataVersionService.bump(userId);
+    }
+
+    private void requireIngredient(Integer ingredientId) {
+        if (!recipeCatalog.snapshot().hasIngredient(ingredientId)) {
+            throw new EntityNotFoundException("Ingredient not found: id = " + ingredientId);
+        }
+    }
+
+    private String ingredientName(Integer ingredientId) {
+        String name = recipeCatalog.snapshot().ingredientName(ingredientId);
+        return name != null ? name : String.valueOf(ingredientId);
     }
 }
@@ -0,0 +1,103 @@
+package com.syun.posleep.service;
+
+import com.syun.posleep.catalog.CatalogSnapshot;
+import com.syun.posleep.catalog.RecipeCatalog;
+import com.syun.posleep.domain.Pot;
+import com.syun.posleep.dto.response.MealPlanResponse;
+import com.syun.posleep.planner.MealPlanner;
+import com.syun.posleep.query.UserIngredientQuantityRow;
+import com.syun.posleep.query.UserRecipeFlagRow;
+import com.syun.posleep.repository.IngredientQueryRepository;
+import com.syun.posleep.repository.PotRepository;
+import com.syun.posleep.repository.RecipeQueryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+public class MealPlannerService {
+    public static final int MAX_COOKS = 21;
+    private static final String ALL_CATEGORIES = "전체";
+
+    private final RecipeCatalog recipeCatalog;
+    private final IngredientQueryRepository ingredientQueryRepository;
+    private final RecipeQueryRepository recipeQueryRepository;
+    private final PotRepository potRepository;
+    private final long nodeLimit;
+    private final long timeLimitMs;
+
+    public MealPlannerService(RecipeCatalog recipeCatalog,
+                              IngredientQueryRepository ingredientQueryRepository,
+                              RecipeQueryRepository recipeQueryRepository,
+                              PotRepository potRepository,
+                              @Value("${posleep.planner.node-limit:" + MealPlanner.DEFAULT_NODE_LIMIT + "}") long nodeLimit,
+                              @Value("${posleep.planner.time-limit-ms:" + MealPlanner.DEFAULT_TIME_LIMIT_MS + "}") long timeLimitMs) {
+        this.recipeCatalog = recipeCatalog;
+        this.ingredientQueryRepository = ingredientQueryRepository;
+        this.recipeQueryRepository = recipeQueryRepository;
+        this.potRepository = potRepository;
+        this.nodeLimit = nodeLimit;
+        this.timeLimitMs = timeLimitMs;
+    }
+
+    /**
+     * 다음 cooks 번 요리로 에너지 합이 최대가 되는 목표 레시피 조합
+     * (냄비 용량(캠프 보너스 포함), 냄비 카테고리, 보유 식재료를 만족하는 것만)
+     */
+    @Transactional(readOnly = true)
+    public MealPlanResponse plan(Integer userId, int cooks) {
+        if (cooks < 1 || cooks > MAX_COOKS) {
+            throw new IllegalArgumentException("cooks 는 1~" + MAX_COOKS + " 사이여야 합니다");
+        }
+
+        CatalogSnapshot catalog = recipeCatalog.snapshot();
+        Pot pot = potRepository.findFirstByUserId(userId).orElse(null);
+        int capacity = effectiveCapacity(pot);
+        String category = pot != null ? pot.getCategory() : null;
+        boolean anyCategory = category == null || category.isBlank() || ALL_CATEGORIES.equals(category);
+
+        // 후보: 목표 레시피 중 용량/카테고리 조건을 만족하고 에너지가 있는 것
+        List<Integer> candidates = new ArrayList<>();
+        for (UserRecipeFlagRow row : recipeQueryRepository.findUserRecipeFlags(userId)) {
+            int idx = catalog.indexOf(row.getRecipeId());
+            if (idx < 0 || !row.getIsTarget()) continue;
+            if (catalog.totalQuantity(idx) > capacity) continue;
+            if (!anyCategory && !category.equals(catalog.category(idx))) continue;
+            if (catalog.energy(idx) == null) continue;
+            candidates.add(idx);
+        }
+
+        int[] stock = catalog.newQuantityArray();
+        for (UserIngredientQuantityRow row : ingredientQueryRepository.findUserIngredientQuantities(userId)) {
+            if (catalog.hasIngredientSlot(row.getIngredientId())) {
+                stock[row.getIngredientId()] = row.getQuantity();
+            }
+        }
+
+        MealPlanner.Plan plan = MealPlanner.plan(catalog,
+                candidates.stream().mapToInt(Integer::intValue).toArray(), stock, cooks, nodeLimit, timeLimitMs);
+        if (!plan.exhaustive()) {
+            log.info("[MealPlannerService.plan] 탐색 제한 도달 user={} nodes={}", userId, plan.nodes());
+        }
+
+        List<MealPlanResponse.Item> items = new ArrayList<>(plan.items().size());
+        for (MealPlanner.Plan.Item item : plan.items()) {
+            int idx = item.recipeIndex();
+            items.add(new MealPlanResponse.Item(catalog.recipeId(idx), catalog.recipeName(idx), catalog.category(idx),
+                    catalog.totalQuantity(idx), item.times(), item.energy()));
+        }
+        return new MealPlanResponse(cooks, capacity, plan.totalEnergy(), plan.exhaustive(), items);
+    }
+
+    // 캠프 중이면 용량 1.5 배 (올림)
+    static int effectiveCapacity(Pot pot) {
+        if (pot == null || pot.getCapacity() == null) return 0;
+        int cap = pot.getCapacity();
+        return pot.getIsCamping() ? cap + (cap + 1) / 2 : cap;
+    }
+}
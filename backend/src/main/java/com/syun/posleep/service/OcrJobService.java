@@ -0,0 +1,100 @@
+package com.syun.posleep.service;
+
+import com.syun.posleep.cache.TtlCache;
+import com.syun.posleep.ocr.OcrImage;
+import com.syun.posleep.ocr.OcrJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OCR 작업 큐.
+ * Vision 호출은 트랜잭션 밖(ocr executor 스레드)에서 하고, 결과 반영만 짧은 트랜잭션으로 실행한다.
+ */
+@Slf4j
+@Service
+public class OcrJobService {
+
+    private final IngredientOcrService ocrService;
+    private final TaskExecutor executor;
+
+    // 클라이언트에 보내는 실패 사유 (예외 메시지는 서버 로그에만 남긴다)
+    static final String ERROR_RECOGNIZE = "이미지에서 식재료를 읽지 못했습니다";
+    static final String ERROR_APPLY = "식재료 반영에 실패했습니다";
+
+    // jobId -> 대기/실행 중 작업 (executor 용량만큼만 쌓이므로 evict 하지 않는다)
+    private final Map<String, OcrJob> active = new ConcurrentHashMap<>();
+
+    // jobId -> 끝난 작업 (ttl 동안 상태 조회 가능)
+    private final TtlCache<String, OcrJob> finished;
+
+    public OcrJobService(IngredientOcrService ocrService,
+                         @Qualifier("ocrExecutor") TaskExecutor executor,
+                         @Value("${ocr.job.max-size:1000}") int jobMaxSize,
+                         @Value("${ocr.job.ttl-ms:600000}") long jobTtlMs) {
+        this.ocrService = ocrService;
+        this.executor = executor;
+        this.finished = new TtlCache<>(jobMaxSize, jobTtlMs);
+    }
+
+    /**
+     * @param image 요청 스레드에서 미리 읽어 둔 이미지
+     * @throws org.springframework.core.task.TaskRejectedException 큐가 가득 찬 경우
+     */
+    public OcrJob submit(Integer userId, OcrImage image) {
+        OcrJob job = new OcrJob(userId);
+        active.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, image));
+        } catch (RuntimeException e) {
+            active.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * @return 작업, 없거나 다른 유저의 작업이면 null
+     */
+    public OcrJob find(String jobId, Integer userId) {
+        OcrJob job = active.get(jobId);
+        if (job == null) job = finished.get(jobId);
+        return job != null && job.isOwnedBy(userId) ? job : null;
+    }
+
+    private void run(OcrJob job, OcrImage image) {
+        job.running();
+        try {
+            execute(job, image);
+        } finally {
+            // 조회가 비지 않도록 finished 에 먼저 넣고 active 에서 뺀다
+            finished.put(job.getId(), job);
+            active.remove(job.getId());
+        }
+    }
+
+    private void execute(OcrJob job, OcrImage image) {
+        Map<String, Integer> counts;
+        try {
+            counts = ocrService.recognize(image);
+        } catch (RuntimeException e) {
+            log.warn("[OcrJobService] job={} user={} 인식 실패", job.getId(), job.getUserId(), e);
+            job.failed(ERROR_RECOGNIZE);
+            return;
+        }
+
+        try {
+            int applied = ocrService.apply(counts, job.getUserId());
+            job.done(applied);
+            log.info("[OcrJobService] job={} user={} {}건 반영", job.getId(), job.getUserId(), applied);
+        } catch (RuntimeException e) {
+            log.warn("[OcrJobService] job={} user={} 반영 실패", job.getId(), job.getUserId(), e);
+            job.failed(ERROR_APPLY);
+        }
+    }
+}
@@ -1,32 +1,60 @@
 package com.syun.posleep.service;
 
+import com.syun.posleep.catalog.CatalogSnapshot;
+import com.syun.posleep.catalog.RecipeCatalog;
+import com.syun.posleep.catalog.RecipeSheetItem;
 import com.syun.posleep.domain.Pot;
 import com.syun.posleep.domain.RecipeIngredient;
 import com.syun.posleep.dto.request.RecipeEditRow;
 import com.syun.posleep.dto.request.RecipeForm;
+import com.syun.posleep.dto.response.CompactRecipeSheetResponse;
 import com.syun.posleep.query.RecipeSheetRow;
+import com.syun.posleep.query.UserIngredientQuantityRow;
+import com.syun.posleep.query.UserRecipeFlagRow;
+import com.syun.posleep.repository.IngredientQueryRepository;
 import com.syun.posleep.repository.PotRepository;
 import com.syun.posleep.repository.RecipeQueryRepository;
 import com.syun.posleep.repository.RecipeRepository;
+import com.syun.posleep.repository.UserRecipeJdbcRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Slf4j
 @Service
 public class RecipeService {
     private final RecipeQueryRepository queryRepository;
+    private final IngredientQueryRepository ingredientQueryRepository;
     private final RecipeRepository recipeRepository;
+    private final UserRecipeJdbcRepository userRecipeJdbcRepository;
     private final PotRepository potRepository;
+    private final RecipeCatalog recipeCatalog;
+    private final TargetDemandService targetDemandService;
+    private final DataVersionService dataVersionService;
 
     public RecipeService(RecipeQueryRepository queryRepository,
+                         IngredientQueryRepository ingredientQueryRepository,
                          RecipeRepository recipeRepository,
-                         PotRepository potRepository) {
+                         UserRecipeJdbcRepository userRecipeJdbcRepository,
+                         PotRepository potRepository,
+                         RecipeCatalog recipeCatalog,
+                         TargetDemandService targetDemandService,
+                         DataVersionService dataVersionService) {
         this.queryRepository = queryRepository;
+        this.ingredientQueryRepository = ingredientQueryRepository;
         this.recipeRepository = recipeRepository;
+        this.userRecipeJdbcRepository = userRecipeJdbcRepository;
         this.potRepository = potRepository;
+        this.recipeCatalog = recipeCatalog;
+        this.targetDemandService = targetDemandService;
+        this.dataVersionService = dataVersionService;
     }
 
     @Transactional(readOnly = true)
@@ -39,31 +67,147 @@ public class RecipeService {
         Pot pot = potRepository.findFirstByUserId(userId).orElseThrow(() -> new IllegalArgumentException("Pot not found"));
 
         int cap = (capacity == null || capacity < 0) ? 0 : capacity;
+        boolean categoryChanged = !Objects.equals(pot.getCategory(), category);
         pot.setCapacity(cap);
         pot.setIsCamping(isCamping);
         pot.setCategory(category);
+
+        if (categoryChanged) {
+            // 요약 재계산 SQL 이 pot.category 를 읽으므로 먼저 flush
+            potRepository.flush();
+            targetDemandService.rebuild(userId);
+        }
+        dataVersionService.bump(userId);
     }
 
     @Transactional(readOnly = true)
     public List<RecipeSheetRow> findRecipeSheet(Integer userId) {
-        return queryRepository.findRecipeSheet(userId);
+        CatalogSnapshot catalog = recipeCatalog.snapshot();
+        UserState state = loadState(catalog, userId);
+        return catalog.toSheet(state.quantities(), state.registered(), state.target());
+    }
+
+    /**
+     * 식재료 개수 제한 없는 목록형 레시피 시트
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeSheetItem> findRecipeSheetItems(Integer userId) {
+        CatalogSnapshot catalog = recipeCatalog.snapshot();
+        UserState state = loadState(catalog, userId);
+        return catalog.toSheetItems(state.quantities(), state.registered(), state.target());
+    }
+
+    /**
+     * 압축 레시피 시트 (이름/카테고리 없이 id 와 숫자만, 열 단위 배열)
+     */
+    @Transactional(readOnly = true)
+    public CompactRecipeSheetResponse findCompactSheet(Integer userId) {
+        CatalogSnapshot catalog = recipeCatalog.snapshot();
+        UserState state = loadState(catalog, userId);
+
+        int[] recipeIds = new int[catalog.size()];
+        int[] flags = new int[catalog.size()];
+        for (int i = 0; i < catalog.size(); i++) {
+            recipeIds[i] = catalog.recipeId(i);
+            if (state.registered()[i]) flags[i] |= CompactRecipeSheetResponse.FLAG_REGISTERED;
+            if (state.target()[i]) flags[i] |= CompactRecipeSheetResponse.FLAG_TARGET;
+        }
+        return new CompactRecipeSheetResponse(catalog.version(), recipeIds, flags, catalog.requirements(state.quantities()));
     }
 
     @Transactional
     public int updateFlags(RecipeForm form, Integer userId) {
-        int changed = 0;
+        if (form.getRows() == null || form.getRows().isEmpty()) return 0;
+
+        CatalogSnapshot catalog = recipeCatalog.snapshot();
+        boolean[] registered = new boolean[catalog.size()];
+        boolean[] target = new boolean[catalog.size()];
+        loadFlags(catalog, userId, registered, target);
+
+        // 같은 레시피가 여러 번 오면 마지막 값 사용, 없는 레시피는 무시
+        Map<Integer, RecipeEditRow> byRecipe = new LinkedHashMap<>();
         for (RecipeEditRow row : form.getRows()) {
-            int recipeId = row.getId();
-            boolean isRegistered = row.getIsRegistered();
-            boolean isTarget = row.getIsTarget();
-            changed += recipeRepository.updateFlags(recipeId, isRegistered, isTarget, userId);
+            if (catalog.indexOf(row.getId()) >= 0) {
+                byRecipe.put(row.getId(), row);
+            }
+        }
+
+        List<RecipeEditRow> changedRows = new ArrayList<>();
+        boolean targetChanged = false;
+        for (RecipeEditRow row : byRecipe.values()) {
+            int idx = catalog.indexOf(row.getId());
+            if (registered[idx] != row.getIsRegistered() || target[idx] != row.getIsTarget()) {
+                changedRows.add(row);
+            }
+            targetChanged |= target[idx] != row.getIsTarget();
+        }
+        userRecipeJdbcRepository.upsertFlags(userId, changedRows);
+        if (targetChanged) {
+            // 위 플래그는 잠금 없는 읽기라 증감 대신 upsert 이후 상태로 재계산
+            targetDemandService.rebuild(userId);
+        }
+
+        int changed = changedRows.size();
+        if (changed > 0) {
+            dataVersionService.bump(userId);
         }
         log.info("[RecipeService.updateFlags] {}건 업데이트", changed);
         return changed;
     }
 
+    @Transactional
+    public int updateTargetByCategory(Integer userId, String category, boolean isTarget) {
+        int changed = recipeRepository.updateTargetByCategory(userId, category, isTarget);
+        if (isTarget) {
+            changed += recipeRepository.insertTargetByCategory(userId, category);
+        }
+        if (changed > 0) {
+            targetDemandService.rebuild(userId);
+            dataVersionService.bump(userId);
+        }
+        log.info("[RecipeService.updateTargetByCategory] {} -> {}건 업데이트", category, changed);
+        return changed;
+    }
+
+    // 시트 계산용 유저 상태: 보유 수량 (ingredient id 인덱스), 등록/목표 플래그 (recipe index)
+    private record UserState(int[] quantities, boolean[] registered, boolean[] target) {}
+
+    private UserState loadState(CatalogSnapshot catalog, Integer userId) {
+        boolean[] registered = new boolean[catalog.size()];
+        boolean[] target = new boolean[catalog.size()];
+        loadFlags(catalog, userId, registered, target);
+        return new UserState(loadQuantities(catalog, userId), registered, target);
+    }
+
+    // 유저 보유 수량 (ingredient id 인덱스, user_ingredient 행이 없으면 0)
+    private int[] loadQuantities(CatalogSnapshot catalog, Integer userId) {
+        int[] quantities = catalog.newQuantityArray();
+        for (UserIngredientQuantityRow row : ingredientQueryRepository.findUserIngredientQuantities(userId)) {
+            int ingredientId = row.getIngredientId();
+            if (catalog.hasIngredientSlot(ingredientId)) {
+                quantities[ingredientId] = row.getQuantity();
+            }
+        }
+        return quantities;
+    }
+
+    // user_recipe 행이 없으면 false (sparse 저장)
+    private void loadFlags(CatalogSnapshot catalog, Integer userId, boolean[] registered, boolean[] target) {
+        for (UserRecipeFlagRow row : queryRepository.findUserRecipeFlags(userId)) {
+            int idx = catalog.indexOf(row.getRecipeId());
+            if (idx < 0) continue;
+            registered[idx] = row.getIsRegistered();
+            target[idx] = row.getIsTarget();
+        }
+    }
+
     @Transactional(readOnly = true)
     public List<RecipeIngredient> findRecipeIngredient(Integer recipeId) {
         return queryRepository.findRecipeIngredient(recipeId);
     }
+
+    @Transactional(readOnly = true)
+    public List<RecipeIngredient> findRecipeIngredients(Collection<Integer> recipeIds) {
+        return queryRepository.findRecipeIngredients(recipeIds);
+    }
 }
@@ -0,0 +1,29 @@
+package com.syun.posleep.service;
+
+import com.syun.posleep.repository.UserTargetDemandJdbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * user_target_demand (유저별 목표 식재료 수량 요약) 유지.
+ * 식재료 시트는 읽기가 쓰기보다 훨씬 많으므로 목표/냄비가 바뀔 때 미리 계산해 둔다.
+ * 최초 적재는 infra/db/migration/V3__user_target_demand.sql 에서 한 번 한다.
+ */
+@Service
+public class TargetDemandService {
+
+    private final UserTargetDemandJdbcRepository repository;
+
+    public TargetDemandService(UserTargetDemandJdbcRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * 한 유저의 요약을 user_recipe 현재 상태로 다시 계산 (호출 측 트랜잭션 안에서).
+     * 증감 반영은 동시 저장 시 어긋날 수 있어 쓰지 않는다 (유저당 수십 행이라 재계산이 싸다)
+     */
+    @Transactional
+    public void rebuild(Integer userId) {
+        repository.rebuild(userId);
+    }
+}
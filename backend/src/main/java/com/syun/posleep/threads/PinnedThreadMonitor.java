@@ -0,0 +1,119 @@
+package com.syun.posleep.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가상 스레드 고정(pinning) 진단.
+ * JFR jdk.VirtualThreadPinned 이벤트(synchronized 블록/네이티브 프레임 안에서 블로킹해 캐리어를 놓지 못한 경우)를
+ * 프로세스 안에서 구독해 메트릭으로 남기고, 처음 보는 호출 위치는 스택과 함께 WARN 으로 한 번 남긴다.
+ * - posleep.threads.pinned:          고정 시간 Timer (tag: site = 앱 코드 최상단 프레임)
+ * - posleep.threads.pinned.sites:    서로 다른 호출 위치 수 카운터
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "posleep.threads.pinning-diagnostics", havingValue = "true")
+public class PinnedThreadMonitor {
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+    static final String PINNED_TIMER = "posleep.threads.pinned";
+    static final String PINNED_SITES = "posleep.threads.pinned.sites";
+
+    private static final String APP_PACKAGE = "com.syun.posleep.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry registry;
+    private final Duration threshold;
+    private final Counter sites;
+
+    // 호출 위치 -> Timer (처음 보는 위치만 스택 로그)
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(MeterRegistry registry,
+                               @Value("${posleep.threads.pinning-threshold-ms:20}") long thresholdMs) {
+        this.registry = registry;
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.sites = Counter.builder(PINNED_SITES).register(registry);
+    }
+
+    @PostConstruct
+    protected void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("[PinnedThreadMonitor] {} 구독 시작 (threshold {}ms)", EVENT, threshold.toMillis());
+    }
+
+    @PreDestroy
+    protected void stop() {
+        if (stream != null) stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = site(frames);
+
+        Timer timer = timers.get(site);
+        if (timer == null) {
+            Timer created = Timer.builder(PINNED_TIMER).tag("site", site).register(registry);
+            timer = timers.putIfAbsent(site, created);
+            if (timer == null) {
+                timer = created;
+                sites.increment();
+                log.warn("[PinnedThreadMonitor] 가상 스레드 고정 {}ms at {}\n{}",
+                        event.getDuration().toMillis(), site, format(frames));
+            }
+        }
+        timer.record(event.getDuration());
+    }
+
+    /* --- Stack --- */
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace != null ? stackTrace.getFrames() : List.of();
+    }
+
+    // 앱 코드 중 가장 안쪽 프레임 (없으면 최상단 프레임)
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame f : frames) {
+            if (f.getMethod().getType().getName().startsWith(APP_PACKAGE)) return describe(f);
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame f) {
+        String type = f.getMethod().getType().getName();
+        return type.substring(type.lastIndexOf('.') + 1) + "." + f.getMethod().getName() + ":" + f.getLineNumber();
+    }
+
+    private static String format(List<RecordedFrame> frames) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+            RecordedFrame f = frames.get(i);
+            sb.append("\tat ").append(f.getMethod().getType().getName())
+                    .append('.').append(f.getMethod().getName())
+                    .append(':').append(f.getLineNumber()).append('\n');
+        }
+        if (frames.size() > LOGGED_FRAMES) sb.append("\t... ").append(frames.size() - LOGGED_FRAMES).append(" more");
+        return sb.toString();
+    }
+}
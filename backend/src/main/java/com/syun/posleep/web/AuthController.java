@@ -6,6 +6,7 @@ import com.syun.posleep.dto.request.LoginRequest;
 import com.syun.posleep.dto.request.SignUpRequest;
 import com.syun.posleep.dto.response.LoginResponse;
 import com.syun.posleep.repository.UserRepository;
+import com.syun.posleep.security.jwt.CustomUserDetails;
 import com.syun.posleep.security.jwt.JwtTokenProvider;
 import com.syun.posleep.service.AuthService;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +17,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -47,7 +49,7 @@ public class AuthController {
             User user = userRepository.findByName(name)
                     .orElseThrow(() -> new IllegalStateException("유저가 존재하지 않습니다."));
 
-            String token = jwtTokenProvider.createToken(user.getId(), user.getName());
+            String token = jwtTokenProvider.createToken(user.getId(), user.getName(), user.getRole(), user.getTokenVersion());
 
             return ResponseEntity.ok(new LoginResponse(token));
         } catch (AuthenticationException e) {
@@ -75,4 +77,15 @@ public class AuthController {
                 .status(HttpStatus.CREATED)
                 .body("회원가입이 완료되었습니다.");
     }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(@AuthenticationPrincipal CustomUserDetails user) {
+        Integer userId = user.getUserId();
+        log.info("LogoutAll: ID={}", user.getUsername());
+
+        int version = authService.revokeTokens(userId);
+        jwtTokenProvider.revoke(userId, version);
+
+        return ResponseEntity.ok().build();
+    }
 }
@@ -0,0 +1,59 @@
+package com.syun.posleep.web;
+
+import com.syun.posleep.catalog.CatalogSnapshot;
+import com.syun.posleep.catalog.RecipeCatalog;
+import com.syun.posleep.dto.response.ApiResponse;
+import com.syun.posleep.dto.response.CatalogResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+/**
+ * 마스터 데이터 사전. 유저와 무관하고 카탈로그가 다시 로드될 때만 바뀐다.
+ * ?v= 가 현재 버전과 같으면 내용이 바뀔 일이 없으므로 immutable 로 길게 캐시한다.
+ */
+@RestController
+@RequestMapping("/catalog")
+public class CatalogController {
+
+    private static final Duration VERSIONED_MAX_AGE = Duration.ofDays(365);
+
+    private final RecipeCatalog recipeCatalog;
+    private final CacheControl cacheControl;
+
+    // 스냅샷별로 한 번만 만든다
+    private volatile ApiResponse<CatalogResponse> cached;
+
+    public CatalogController(RecipeCatalog recipeCatalog,
+                             @Value("${posleep.catalog.max-age-seconds:300}") long maxAgeSeconds) {
+        this.recipeCatalog = recipeCatalog;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate().mustRevalidate();
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CatalogResponse>> getCatalog(@RequestParam(name = "v", required = false) Long v,
+                                                                   WebRequest request) {
+        CatalogSnapshot catalog = recipeCatalog.snapshot();
+        String etag = ConditionalResponses.etag("catalog", catalog.version());
+        CacheControl cc = (v != null && v == catalog.version())
+                ? CacheControl.maxAge(VERSIONED_MAX_AGE).cachePrivate().immutable()
+                : cacheControl;
+        return ConditionalResponses.ifNoneMatch(request, etag, cc, null, () -> response(catalog));
+    }
+
+    private ApiResponse<CatalogResponse> response(CatalogSnapshot catalog) {
+        ApiResponse<CatalogResponse> current = cached;
+        if (current == null || current.data().getVersion() != catalog.version()) {
+            current = ApiResponse.success(CatalogResponse.from(catalog));
+            cached = current;
+        }
+        return current;
+    }
+}
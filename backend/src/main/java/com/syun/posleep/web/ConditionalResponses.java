@@ -0,0 +1,58 @@
+package com.syun.posleep.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * 버전 기반 ETag 응답.
+ * If-None-Match 가 현재 버전과 같으면 body 를 만들지 않고 304 를 돌려준다.
+ * 버전은 인스턴스 메모리 값이다. 유저 데이터 버전(DataVersionService)은 쓰기를 받은 인스턴스에서만 즉시 오르고,
+ * 다른 인스턴스는 posleep.data-version.ttl-ms 가 지나 DB 를 다시 읽을 때까지 이전 ETag 에 304 를 줄 수 있다.
+ * 카탈로그 버전은 인스턴스마다 따로 reload 된다.
+ */
+final class ConditionalResponses {
+
+    // 브라우저는 저장하되 매번 재검증 (공유 캐시 금지)
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {}
+
+    /**
+     * @param parts 버전 구성 요소 (예: 카탈로그 버전, 유저 데이터 버전)
+     */
+    static String etag(String prefix, long... parts) {
+        StringBuilder sb = new StringBuilder("W/\"").append(prefix);
+        for (long part : parts) sb.append('-').append(part);
+        return sb.append('"').toString();
+    }
+
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String etag, Supplier<T> body) {
+        return ifNoneMatch(request, etag, REVALIDATE, null, body);
+    }
+
+    /**
+     * @param contentType   null 이면 content negotiation 결과를 따른다
+     */
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String etag, CacheControl cacheControl,
+                                             MediaType contentType, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT);
+        if (contentType != null) builder.contentType(contentType);
+        return builder.body(body.get());
+    }
+}
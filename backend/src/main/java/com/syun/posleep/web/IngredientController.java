@@ -1,15 +1,19 @@
 package com.syun.posleep.web;
 
+import com.syun.posleep.catalog.RecipeCatalog;
 import com.syun.posleep.dto.response.ApiResponse;
 import com.syun.posleep.dto.request.IngredientForm;
+import com.syun.posleep.dto.request.IngredientPatchForm;
 import com.syun.posleep.query.IngredientSheetRow;
 import com.syun.posleep.security.jwt.CustomUserDetails;
+import com.syun.posleep.service.DataVersionService;
 import com.syun.posleep.service.IngredientService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,15 +21,23 @@ import java.util.List;
 @RequestMapping("/ingredients")
 public class IngredientController {
     private final IngredientService svc;
-    public IngredientController(IngredientService svc) {
+    private final DataVersionService dataVersionService;
+    private final RecipeCatalog recipeCatalog;
+    public IngredientController(IngredientService svc,
+                                DataVersionService dataVersionService,
+                                RecipeCatalog recipeCatalog) {
         this.svc = svc;
+        this.dataVersionService = dataVersionService;
+        this.recipeCatalog = recipeCatalog;
     }
 
     @GetMapping
-    public ApiResponse<List<IngredientSheetRow>> getPage(@AuthenticationPrincipal CustomUserDetails user) {
+    public ResponseEntity<ApiResponse<List<IngredientSheetRow>>> getPage(WebRequest request, @AuthenticationPrincipal CustomUserDetails user) {
         Integer userId = user.getUserId();
-        List<IngredientSheetRow> list = svc.listAllOrdered(userId);
-        return ApiResponse.success(list);
+        String etag = ConditionalResponses.etag("ingredients",
+                recipeCatalog.snapshot().version(), dataVersionService.current(userId));
+        return ConditionalResponses.ifNoneMatch(request, etag,
+                () -> ApiResponse.success(svc.listAllOrdered(userId)));
     }
 
     @PostMapping(
@@ -45,4 +57,19 @@ public class IngredientController {
 
         return ResponseEntity.ok().build();
     }
+
+    @PatchMapping(consumes = "application/json")
+    public ResponseEntity<?> patch(@Valid @RequestBody IngredientPatchForm form,
+                                   BindingResult br, @AuthenticationPrincipal CustomUserDetails user) {
+
+        if (br.hasErrors()) {
+            return ResponseEntity.badRequest().body(br.getAllErrors());
+        }
+
+        Integer userId = user.getUserId();
+
+        svc.patch(form.getRows(), userId);
+
+        return ResponseEntity.ok().build();
+    }
 }
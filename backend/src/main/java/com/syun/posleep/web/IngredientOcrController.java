@@ -1,25 +1,42 @@
 package com.syun.posleep.web;
 
+import com.syun.posleep.dto.response.ApiResponse;
+import com.syun.posleep.dto.response.OcrJobResponse;
+import com.syun.posleep.ocr.InvalidImageException;
+import com.syun.posleep.ocr.OcrImage;
+import com.syun.posleep.ocr.OcrImageReader;
+import com.syun.posleep.ocr.OcrJob;
 import com.syun.posleep.security.jwt.CustomUserDetails;
-import com.syun.posleep.service.IngredientOcrService;
+import com.syun.posleep.service.OcrJobService;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/ingredients")
 public class IngredientOcrController {
-    private final IngredientOcrService svc;
-    public IngredientOcrController(IngredientOcrService svc) {
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final OcrJobService svc;
+    private final long maxImageBytes;
+    public IngredientOcrController(OcrJobService svc,
+                                   @Value("${ocr.image.max-bytes:10485760}") long maxImageBytes) {
         this.svc = svc;
+        this.maxImageBytes = maxImageBytes;
     }
 
     @PostMapping(
@@ -30,19 +47,50 @@ public class IngredientOcrController {
         if (image.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
-        final String ct = image.getContentType();
-        if (ct == null ||
-                !(ct.equals(MimeTypeUtils.IMAGE_PNG_VALUE) ||
-                        ct.equals(MimeTypeUtils.IMAGE_JPEG_VALUE) ||
-                        ct.equals("image/webp"))) {
-            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        if (image.getSize() > maxImageBytes) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
         }
 
         Integer userId = user.getUserId();
 
-        svc.processAndApply(image, userId);
+        // multipart 임시 파일은 요청이 끝나면 지워지므로 여기서 읽어 둔다
+        // (선언된 Content-Type 대신 앞부분 magic bytes 로 형식 판별)
+        OcrImage ocrImage;
+        try (InputStream in = image.getInputStream()) {
+            ocrImage = OcrImageReader.read(in, maxImageBytes);
+        } catch (InvalidImageException e) {
+            return ResponseEntity.status(statusOf(e.getReason())).build();
+        }
+
+        OcrJob job;
+        try {
+            job = svc.submit(userId, ocrImage);
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .build();
+        }
+
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/ingredients/ocr/" + job.getId())
+                .body(ApiResponse.success(OcrJobResponse.from(job)));
+    }
+
+    @GetMapping("/ocr/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId, @AuthenticationPrincipal CustomUserDetails user) {
+        OcrJob job = svc.find(jobId, user.getUserId());
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ApiResponse.success(OcrJobResponse.from(job)));
+    }
 
-        return ResponseEntity.ok().build();
+    private HttpStatus statusOf(InvalidImageException.Reason reason) {
+        return switch (reason) {
+            case EMPTY -> HttpStatus.BAD_REQUEST;
+            case TOO_LARGE -> HttpStatus.PAYLOAD_TOO_LARGE;
+            case UNSUPPORTED_FORMAT -> HttpStatus.UNSUPPORTED_MEDIA_TYPE;
+        };
     }
 
 }
@@ -1,16 +1,28 @@
 package com.syun.posleep.web;
 
 import com.syun.posleep.domain.Pot;
+import com.syun.posleep.catalog.RecipeCatalog;
+import com.syun.posleep.catalog.RecipeSheetItem;
+import com.syun.posleep.dto.request.CookBatchForm;
+import com.syun.posleep.dto.request.RecipeCategoryFlagForm;
 import com.syun.posleep.dto.request.RecipeForm;
 import com.syun.posleep.dto.response.ApiResponse;
-import com.syun.posleep.query.RecipeSheetRow;
+import com.syun.posleep.dto.response.CompactRecipeSheetResponse;
+import com.syun.posleep.dto.response.MealPlanResponse;
 import com.syun.posleep.security.jwt.CustomUserDetails;
 import com.syun.posleep.service.CookingService;
+import com.syun.posleep.service.DataVersionService;
+import com.syun.posleep.service.MealPlannerService;
 import com.syun.posleep.service.RecipeService;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -20,25 +32,82 @@ import java.util.Map;
 @RequestMapping("/recipes")
 public class RecipeController {
 
+    private static final MediaType COMPACT = MediaType.parseMediaType(CompactRecipeSheetResponse.MEDIA_TYPE);
+
     private final RecipeService recipeService;
     private final CookingService cookingService;
+    private final MealPlannerService mealPlannerService;
+    private final DataVersionService dataVersionService;
+    private final RecipeCatalog recipeCatalog;
 
-    public RecipeController(RecipeService recipeService, CookingService cookingService) {
+    public RecipeController(RecipeService recipeService,
+                            CookingService cookingService,
+                            MealPlannerService mealPlannerService,
+                            DataVersionService dataVersionService,
+                            RecipeCatalog recipeCatalog) {
         this.recipeService = recipeService;
         this.cookingService = cookingService;
+        this.mealPlannerService = mealPlannerService;
+        this.dataVersionService = dataVersionService;
+        this.recipeCatalog = recipeCatalog;
     }
 
+    /**
+     * 레시피 시트. Accept: application/vnd.posleep.compact+json 또는 ?format=compact 이면
+     * 이름/카테고리 없이 id 와 숫자만 담은 압축 시트를 돌려준다 (사전은 GET /catalog).
+     */
     @GetMapping
-    public ApiResponse<List<RecipeSheetRow>> getRecipes(@AuthenticationPrincipal CustomUserDetails user) {
+    public ResponseEntity<?> getRecipes(@RequestParam(required = false) String format,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                        WebRequest request, @AuthenticationPrincipal CustomUserDetails user) {
+        Integer userId = user.getUserId();
+        long catalogVersion = recipeCatalog.snapshot().version();
+        long dataVersion = dataVersionService.current(userId);
+
+        if (isCompact(format, accept)) {
+            String etag = ConditionalResponses.etag("recipes-compact", catalogVersion, dataVersion);
+            return ConditionalResponses.ifNoneMatch(request, etag, ConditionalResponses.REVALIDATE, COMPACT,
+                    () -> ApiResponse.success(recipeService.findCompactSheet(userId)));
+        }
+        String etag = ConditionalResponses.etag("recipes", catalogVersion, dataVersion);
+        return ConditionalResponses.ifNoneMatch(request, etag,
+                () -> ApiResponse.success(recipeService.findRecipeSheet(userId)));
+    }
+
+    @GetMapping("/sheet")
+    public ResponseEntity<ApiResponse<List<RecipeSheetItem>>> getRecipeSheet(WebRequest request, @AuthenticationPrincipal CustomUserDetails user) {
         Integer userId = user.getUserId();
-        List<RecipeSheetRow> list = recipeService.findRecipeSheet(userId);
-        return ApiResponse.success(list);
+        String etag = ConditionalResponses.etag("sheet",
+                recipeCatalog.snapshot().version(), dataVersionService.current(userId));
+        return ConditionalResponses.ifNoneMatch(request, etag,
+                () -> ApiResponse.success(recipeService.findRecipeSheetItems(userId)));
+    }
+
+    @GetMapping("/plan")
+    public ResponseEntity<?> getPlan(@RequestParam(defaultValue = "3") int cooks, @AuthenticationPrincipal CustomUserDetails user) {
+        if (cooks < 1 || cooks > MealPlannerService.MAX_COOKS) {
+            return ResponseEntity.badRequest().body(Map.of("message", "cooks 는 1~" + MealPlannerService.MAX_COOKS + " 사이여야 합니다"));
+        }
+        MealPlanResponse plan = mealPlannerService.plan(user.getUserId(), cooks);
+        return ResponseEntity.ok(ApiResponse.success(plan));
     }
 
     @GetMapping("/pots")
-    public ApiResponse<Pot> getPot(@AuthenticationPrincipal CustomUserDetails user) {
-        Pot pot = recipeService.getSinglePotOrNull(user.getUserId());
-        return ApiResponse.success(pot);
+    public ResponseEntity<ApiResponse<Pot>> getPot(WebRequest request, @AuthenticationPrincipal CustomUserDetails user) {
+        Integer userId = user.getUserId();
+        String etag = ConditionalResponses.etag("pots", dataVersionService.current(userId));
+        return ConditionalResponses.ifNoneMatch(request, etag,
+                () -> ApiResponse.success(recipeService.getSinglePotOrNull(userId)));
+    }
+
+    private static boolean isCompact(String format, String accept) {
+        if (CompactRecipeSheetResponse.FORMAT.equals(format)) return true;
+        if (accept == null || accept.isEmpty()) return false;
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(COMPACT::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
     }
 
     @PostMapping(
@@ -51,6 +120,16 @@ public class RecipeController {
         return ResponseEntity.ok(Map.of("changed", changed));
     }
 
+    @PostMapping(
+            path = "/flags/category",
+            consumes = "application/json"
+    )
+    public ResponseEntity<?> saveCategoryTarget(@Valid @RequestBody RecipeCategoryFlagForm form, @AuthenticationPrincipal CustomUserDetails user) {
+        Integer userId = user.getUserId();
+        int changed = recipeService.updateTargetByCategory(userId, form.getCategory(), form.getIsTarget());
+        return ResponseEntity.ok(Map.of("changed", changed));
+    }
+
     @PostMapping(
             path = "/pots",
             consumes = "application/json"
@@ -66,7 +145,28 @@ public class RecipeController {
     )
     public ResponseEntity<?> cook(@RequestBody Integer recipeId, @AuthenticationPrincipal CustomUserDetails user) {
         Integer userId = user.getUserId();
-        cookingService.runCooking(recipeId, userId);
+        try {
+            cookingService.runCooking(recipeId, userId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping(
+            path = "/cook/batch",
+            consumes = "application/json"
+    )
+    public ResponseEntity<?> cookBatch(@Valid @RequestBody CookBatchForm form, @AuthenticationPrincipal CustomUserDetails user) {
+        Integer userId = user.getUserId();
+        int cooked;
+        try {
+            cooked = cookingService.runCookingBatch(form.getRows(), userId);
+        } catch (ArithmeticException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "요리 횟수가 너무 많습니다"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        return ResponseEntity.ok(Map.of("cooked", cooked));
+    }
 }
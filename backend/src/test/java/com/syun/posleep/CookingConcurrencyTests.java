@@ -0,0 +1,120 @@
+package com.syun.posleep;
+
+import com.syun.posleep.repository.UserRepository;
+import com.syun.posleep.service.AuthService;
+import com.syun.posleep.service.CookingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class CookingConcurrencyTests {
+
+    private static final int STOCK = 10;
+    private static final int NEED = 3;
+    private static final int THREADS = 16;
+    private static final int COOKS_PER_THREAD = 4;
+
+    @Autowired
+    private CookingService cookingService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void parallelCooksNeverDriveQuantityNegative() throws Exception {
+        int[] seeded = seed();
+        Integer userId = seeded[0], ingredientId = seeded[1], recipeId = seeded[2];
+
+        // 동시에 요리
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger minSeen = new AtomicInteger(Integer.MAX_VALUE);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < COOKS_PER_THREAD; i++) {
+                    try {
+                        cookingService.runCooking(recipeId, userId);
+                        success.incrementAndGet();
+                    } catch (IllegalStateException shortage) {
+                        // 재료 부족은 정상적인 실패
+                    }
+                    minSeen.accumulateAndGet(quantity(userId, ingredientId), Math::min);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int remaining = quantity(userId, ingredientId);
+        assertThat(minSeen.get()).isGreaterThanOrEqualTo(0);
+        assertThat(remaining).isGreaterThanOrEqualTo(0);
+        assertThat(success.get()).isEqualTo(STOCK / NEED);
+        assertThat(remaining).isEqualTo(STOCK - success.get() * NEED);
+    }
+
+    // {user id, ingredient id, recipe id}
+    private int[] seed() {
+        String suffix = String.valueOf(System.nanoTime());
+
+        // 마스터 데이터: 식재료 1개, 해당 식재료 NEED 개가 필요한 레시피 1개
+        jdbc.update("INSERT INTO ingredient (name) VALUES (?)", "동시성재료" + suffix);
+        Integer ingredientId = jdbc.queryForObject(
+                "SELECT id FROM ingredient WHERE name = ?", Integer.class, "동시성재료" + suffix);
+
+        jdbc.update("""
+                INSERT INTO recipe (name, category, total_quantity, energy, ingredient_id1, need1)
+                VALUES (?, '테스트', ?, 100, ?, ?)
+                """, "동시성레시피" + suffix, NEED, ingredientId, NEED);
+        Integer recipeId = jdbc.queryForObject(
+                "SELECT id FROM recipe WHERE name = ?", Integer.class, "동시성레시피" + suffix);
+
+        Integer riId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM recipe_ingredient", Integer.class);
+        jdbc.update("""
+                INSERT INTO recipe_ingredient (id, recipe_id, ingredient_id, quantity, position)
+                VALUES (?, ?, ?, ?, 1)
+                """, riId, recipeId, ingredientId, NEED);
+
+        // 유저 + 보유 수량
+        String name = "cook-" + suffix;
+        authService.register(name, "{noop}password");
+        Integer userId = userRepository.findByName(name).orElseThrow().getId();
+        jdbc.update("""
+                INSERT INTO user_ingredient (user_id, ingredient_id, quantity, is_registered)
+                VALUES (?, ?, ?, 1)
+                ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)
+                """, userId, ingredientId, STOCK);
+
+        return new int[]{ userId, ingredientId, recipeId };
+    }
+
+    private int quantity(Integer userId, Integer ingredientId) {
+        return jdbc.queryForObject(
+                "SELECT quantity FROM user_ingredient WHERE user_id = ? AND ingredient_id = ?",
+                Integer.class, userId, ingredientId);
+    }
+}
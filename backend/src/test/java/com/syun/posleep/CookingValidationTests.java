@@ -0,0 +1,251 @@
+package com.syun.posleep;
+
+import com.syun.posleep.catalog.RecipeCatalog;
+import com.syun.posleep.domain.User;
+import com.syun.posleep.dto.request.CookBatchForm;
+import com.syun.posleep.dto.request.CookBatchRow;
+import com.syun.posleep.repository.UserRepository;
+import com.syun.posleep.security.jwt.JwtTokenProvider;
+import com.syun.posleep.service.AuthService;
+import com.syun.posleep.service.CookingService;
+import com.syun.posleep.service.DataVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 요리 요청 검증 (입력 상한, 필요 수량 overflow, 없는 레시피 -> 400, 부족한 식재료 안내)
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+class CookingValidationTests {
+
+    private static final int STOCK = 10;
+    // times 2 만으로 int 를 넘는 필요 수량
+    private static final int HUGE_NEED = Integer.MAX_VALUE / 2 + 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CookingService cookingService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private RecipeCatalog recipeCatalog;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Integer userId;
+    private Integer ingredientId;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+
+        jdbc.update("INSERT INTO ingredient (name) VALUES (?)", "검증재료" + suffix);
+        ingredientId = jdbc.queryForObject("SELECT id FROM ingredient WHERE name = ?", Integer.class, "검증재료" + suffix);
+
+        String name = "cook-validation-" + suffix;
+        authService.register(name, "{noop}password");
+        User user = userRepository.findByName(name).orElseThrow();
+        userId = user.getId();
+        bearer = "Bearer " + jwtTokenProvider.createToken(userId, name, user.getRole(), user.getTokenVersion());
+        jdbc.update("""
+                INSERT INTO user_ingredient (user_id, ingredient_id, quantity, is_registered)
+                VALUES (?, ?, ?, 1)
+                ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)
+                """, userId, ingredientId, STOCK);
+    }
+
+    @Test
+    void rejectsOutOfRangeTimes() throws Exception {
+        Integer recipeId = recipe("범위", 1);
+
+        cookBatch(rows(recipeId, 0)).andExpect(status().isBadRequest());
+        cookBatch(rows(recipeId, CookBatchRow.MAX_TIMES + 1)).andExpect(status().isBadRequest());
+        assertThat(quantity()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() throws Exception {
+        Integer recipeId = recipe("행수", 1);
+
+        cookBatch("{\"rows\":[]}").andExpect(status().isBadRequest());
+        String tooMany = IntStream.rangeClosed(0, CookBatchForm.MAX_ROWS)
+                .mapToObj(i -> row(recipeId, 1))
+                .collect(Collectors.joining(",", "{\"rows\":[", "]}"));
+        cookBatch(tooMany).andExpect(status().isBadRequest());
+        assertThat(quantity()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void overflowingDemandIsBadRequest() throws Exception {
+        Integer recipeId = recipe("overflow", HUGE_NEED);
+
+        // HUGE_NEED * 2 가 음수로 감싸지면 차감 대신 재고가 늘어난다
+        cookBatch(rows(recipeId, 2))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("요리 횟수가 너무 많습니다"));
+        assertThat(quantity()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void overflowingTimesSumIsRejected() {
+        Integer recipeId = recipe("times", 1);
+
+        // 같은 레시피 행의 횟수 합산도 overflow 검사 (컨트롤러 검증을 거치지 않는 호출)
+        assertThatThrownBy(() -> cookingService.runCookingBatch(
+                List.of(new CookBatchRow(recipeId, Integer.MAX_VALUE), new CookBatchRow(recipeId, 1)), userId))
+                .isInstanceOf(ArithmeticException.class);
+        assertThat(quantity()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void shortageNamesOnlyTheShortIngredient() {
+        // A 는 충분, B 만 부족: 부분 차감된 A 를 탓하면 안 된다
+        Integer a = ingredient("A", 6);
+        Integer b = ingredient("B", 3);
+        Integer recipeId = recipe("부족", new int[][]{ { a, 5 }, { b, 5 } });
+        recipeCatalog.reload();
+
+        assertThatThrownBy(() -> cookingService.runCooking(recipeId, userId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("식재료 부족: " + ingredientName(b));
+        assertThat(quantity(a)).isEqualTo(6);
+        assertThat(quantity(b)).isEqualTo(3);
+    }
+
+    @Test
+    void shortageListsEveryShortIngredient() {
+        Integer a = ingredient("A", 1);
+        Integer b = ingredient("B", 10);
+        Integer c = ingredient("C", 0);
+        Integer recipeId = recipe("여러부족", new int[][]{ { a, 2 }, { b, 2 }, { c, 2 } });
+        recipeCatalog.reload();
+
+        assertThatThrownBy(() -> cookingService.runCookingBatch(List.of(new CookBatchRow(recipeId, 1)), userId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("식재료 부족: " + ingredientName(a) + ", " + ingredientName(c));
+        assertThat(quantity(b)).isEqualTo(10);
+    }
+
+    @Test
+    void cookingRecipeWithoutIngredientsIsBadRequest() throws Exception {
+        Integer empty = recipe("빈레시피", new int[0][]);
+        long version = dataVersionService.current(userId);
+
+        cook(empty)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("존재하지 않는 레시피 입니다: " + empty));
+        cook(-1).andExpect(status().isBadRequest());
+        cookBatch(rows(-1, 1)).andExpect(status().isBadRequest());
+
+        // 아무것도 바뀌지 않았으므로 ETag 도 그대로
+        assertThat(dataVersionService.current(userId)).isEqualTo(version);
+    }
+
+    private Integer recipe(String label, int need) {
+        return recipe(label, new int[][]{ { ingredientId, need } });
+    }
+
+    // slots: {ingredient id, need} (식재료 없는 레시피는 빈 배열)
+    private Integer recipe(String label, int[][] slots) {
+        String name = "검증레시피-" + label + "-" + System.nanoTime();
+        int total = Arrays.stream(slots).mapToInt(slot -> slot[1]).sum();
+        jdbc.update("""
+                INSERT INTO recipe (name, category, total_quantity, energy, ingredient_id1, need1)
+                VALUES (?, '테스트', ?, 100, ?, ?)
+                """, name, total, slots.length > 0 ? slots[0][0] : null, slots.length > 0 ? slots[0][1] : null);
+        Integer recipeId = jdbc.queryForObject("SELECT id FROM recipe WHERE name = ?", Integer.class, name);
+
+        for (int s = 0; s < slots.length; s++) {
+            Integer riId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM recipe_ingredient", Integer.class);
+            jdbc.update("""
+                    INSERT INTO recipe_ingredient (id, recipe_id, ingredient_id, quantity, position)
+                    VALUES (?, ?, ?, ?, ?)
+                    """, riId, recipeId, slots[s][0], slots[s][1], s + 1);
+        }
+        return recipeId;
+    }
+
+    private Integer ingredient(String label, int stock) {
+        String name = "검증재료-" + label + "-" + System.nanoTime();
+        jdbc.update("INSERT INTO ingredient (name) VALUES (?)", name);
+        Integer id = jdbc.queryForObject("SELECT id FROM ingredient WHERE name = ?", Integer.class, name);
+        jdbc.update("""
+                INSERT INTO user_ingredient (user_id, ingredient_id, quantity, is_registered)
+                VALUES (?, ?, ?, 1)
+                """, userId, id, stock);
+        return id;
+    }
+
+    private String ingredientName(Integer id) {
+        return jdbc.queryForObject("SELECT name FROM ingredient WHERE id = ?", String.class, id);
+    }
+
+    private ResultActions cook(Integer recipeId) throws Exception {
+        return mockMvc.perform(post("/recipes/cook")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.valueOf(recipeId)));
+    }
+
+    private ResultActions cookBatch(String body) throws Exception {
+        return mockMvc.perform(post("/recipes/cook/batch")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private static String rows(Integer recipeId, int times) {
+        return "{\"rows\":[" + row(recipeId, times) + "]}";
+    }
+
+    private static String row(Integer recipeId, int times) {
+        return "{\"recipeId\":" + recipeId + ",\"times\":" + times + "}";
+    }
+
+    private int quantity() {
+        return quantity(ingredientId);
+    }
+
+    private int quantity(Integer id) {
+        return jdbc.queryForObject(
+                "SELECT quantity FROM user_ingredient WHERE user_id = ? AND ingredient_id = ?",
+                Integer.class, userId, id);
+    }
+}
@@ -0,0 +1,518 @@
+package com.syun.posleep;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.syun.posleep.catalog.RecipeCatalog;
+import com.syun.posleep.service.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 엔드투엔드 부하 테스트 (./gradlew -p backend loadTest -Dload.users=200 -Dload.concurrency=32)
+ * 실제 HTTP 서버 + Testcontainers MariaDB 에 synthetic 유저를 만들고 읽기/쓰기 혼합 부하를 건다.
+ * OCR 은 replay 엔진(녹화된 텍스트)으로 대신한다.
+ * 스레드 모델 비교: -Dload.virtual-threads=true 면 spring.threads.virtual.enabled 로 서버를 띄운다
+ * (./gradlew -p backend loadTestCompare 는 플랫폼 -> 가상 순으로 두 번 실행). -Dload.tomcat-max-threads 로
+ * 플랫폼 워커 수를 줄이면 스레드 수가 동시 처리 상한이 되는 지점을 볼 수 있다 (가상 스레드 모드에서는 무시됨).
+ * 결과(엔드포인트별 처리량, p50/p99/p999)는 콘솔과 build/reports/load/load-<시각>.json 에 남는다.
+ */
+@Tag("load")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "ocr.engine=replay",
+                "ocr.replay.latency-ms=300",
+                "management.server.port=0",
+                "posleep.logging.slow-ms=2000",
+                "posleep.threads.pinning-diagnostics=true"
+        }
+)
+class LoadTests {
+
+    private static final int USERS = Integer.getInteger("load.users", 200);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 60);
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("load.virtual-threads");
+    // 0 이면 Tomcat 기본값 (200)
+    private static final int TOMCAT_MAX_THREADS = Integer.getInteger("load.tomcat-max-threads", 0);
+
+    private static final int INGREDIENTS = 20;
+    private static final int RECIPES = 70;
+    private static final int OCR_IMAGES = 64;
+    private static final String PASSWORD = "load-password";
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    /**
+     * 작업 종류와 가중치 (읽기 위주, 화면 이동/포커스마다 시트 재조회)
+     */
+    private enum Op {
+        LOGIN("POST /auth/login", 2),
+        GET_RECIPES("GET /recipes", 30),
+        GET_INGREDIENTS("GET /ingredients", 25),
+        UPDATE_INGREDIENTS("POST /ingredients/update", 14),
+        UPDATE_FLAGS("POST /recipes/flags", 12),
+        COOK("POST /recipes/cook", 15),
+        OCR("POST /ingredients/ocr", 2);
+
+        private final String label;
+        private final int weight;
+
+        Op(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    // OCR 제출부터 작업 완료까지 (폴링 포함)
+    private static final String OCR_JOB = "OCR job (end-to-end)";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RecipeCatalog recipeCatalog;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private List<Integer> ingredientIds;
+    private List<Integer> recipeIds;
+    private List<String> userNames;
+    private AtomicReferenceArray<String> tokens;
+    private List<byte[]> ocrImages;
+    private Op[] schedule;
+
+    @DynamicPropertySource
+    static void threading(DynamicPropertyRegistry registry) {
+        registry.add("spring.threads.virtual.enabled", () -> VIRTUAL_THREADS);
+        if (TOMCAT_MAX_THREADS > 0) registry.add("server.tomcat.threads.max", () -> TOMCAT_MAX_THREADS);
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        seedCatalog(suffix);
+        seedUsers(suffix);
+        ocrImages = ocrImages();
+        schedule = schedule();
+
+        System.out.printf("[loadTest] users=%d concurrency=%d warmup=%ds duration=%ds virtualThreads=%s%n",
+                USERS, CONCURRENCY, WARMUP_SECONDS, DURATION_SECONDS, virtualThreads());
+
+        run(WARMUP_SECONDS);
+        endpoints.values().forEach(Endpoint::reset);
+
+        long start = System.nanoTime();
+        run(DURATION_SECONDS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        ObjectNode report = report(seconds);
+        Path file = Path.of("build", "reports", "load",
+                "load-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Files.createDirectories(file.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        System.out.println("[loadTest] report: " + file.toAbsolutePath());
+
+        assertThat(endpoints.get(Op.GET_RECIPES.label).successes.sum()).isPositive();
+    }
+
+    /* --- Workload --- */
+
+    private void run(int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        // 클라이언트 쪽 스레드 수가 병목이 되지 않도록 워커는 가상 스레드
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < CONCURRENCY; w++) {
+                futures.add(pool.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        int user = random.nextInt(USERS);
+                        try {
+                            execute(schedule[random.nextInt(schedule.length)], user, random);
+                        } catch (IOException e) {
+                            // 연결 오류는 에러로 기록됐으므로 계속 진행 (포화 지점 측정)
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void execute(Op op, int user, ThreadLocalRandom random) throws Exception {
+        String token = tokens.get(user);
+        if (token == null || op == Op.LOGIN) {
+            token = login(user);
+            if (token == null || op == Op.LOGIN) return;
+        }
+
+        switch (op) {
+            case GET_RECIPES -> send(op.label, get("/recipes", token));
+            case GET_INGREDIENTS -> send(op.label, get("/ingredients", token));
+            case UPDATE_INGREDIENTS -> send(op.label, post("/ingredients/update", token, ingredientRows(random)));
+            case UPDATE_FLAGS -> send(op.label, post("/recipes/flags", token, recipeRows(random)));
+            case COOK -> send(op.label, post("/recipes/cook", token,
+                    String.valueOf(recipeIds.get(random.nextInt(recipeIds.size())))));
+            case OCR -> ocr(token, random);
+            default -> throw new IllegalStateException(op.name());
+        }
+    }
+
+    private String login(int user) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("name", userNames.get(user), "password", PASSWORD));
+        HttpResponse<String> res = send(Op.LOGIN.label, HttpRequest.newBuilder(uri("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        if (res.statusCode() != 200) return null;
+        String token = objectMapper.readTree(res.body()).path("token").asText(null);
+        tokens.set(user, token);
+        return token;
+    }
+
+    private void ocr(String token, ThreadLocalRandom random) throws Exception {
+        String boundary = "load-" + random.nextLong(Long.MAX_VALUE);
+        byte[] image = ocrImages.get(random.nextInt(ocrImages.size()));
+        ByteArrayOutputStream body = new ByteArrayOutputStream(image.length + 256);
+        body.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"image\"; filename=\"screenshot.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(image);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        long start = System.nanoTime();
+        HttpResponse<String> res = send(Op.OCR.label, HttpRequest.newBuilder(uri("/ingredients/ocr"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build());
+        if (res.statusCode() != 202) return;
+
+        String location = res.headers().firstValue("Location").orElseThrow();
+        for (int i = 0; i < 60; i++) {
+            Thread.sleep(200);
+            HttpResponse<String> poll = http.send(get(location, token), HttpResponse.BodyHandlers.ofString());
+            String status = objectMapper.readTree(poll.body()).path("data").path("status").asText();
+            if ("DONE".equals(status) || "FAILED".equals(status)) {
+                endpoint(OCR_JOB).record(System.nanoTime() - start, "DONE".equals(status));
+                return;
+            }
+        }
+        endpoint(OCR_JOB).record(System.nanoTime() - start, false);
+    }
+
+    private HttpResponse<String> send(String label, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> res;
+        try {
+            res = http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            endpoint(label).record(System.nanoTime() - start, false);
+            throw e;
+        }
+        endpoint(label).record(System.nanoTime() - start, res.statusCode() < 400);
+        return res;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    // 식재료 몇 개 수량 보충 (요리로 줄어든 재고를 채워 요리 실패율을 낮춘다)
+    private String ingredientRows(ThreadLocalRandom random) throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int k = 0; k < 5; k++) {
+            rows.add(Map.of(
+                    "id", ingredientIds.get(random.nextInt(ingredientIds.size())),
+                    "isRegistered", true,
+                    "quantity", 50 + random.nextInt(300)));
+        }
+        return objectMapper.writeValueAsString(Map.of("rows", rows));
+    }
+
+    private String recipeRows(ThreadLocalRandom random) throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int k = 0; k < 3; k++) {
+            rows.add(Map.of(
+                    "id", recipeIds.get(random.nextInt(recipeIds.size())),
+                    "isRegistered", random.nextBoolean(),
+                    "isTarget", random.nextInt(4) == 0));
+        }
+        return objectMapper.writeValueAsString(Map.of("rows", rows));
+    }
+
+    private Op[] schedule() {
+        List<Op> ops = new ArrayList<>();
+        for (Op op : Op.values()) {
+            for (int i = 0; i < op.weight; i++) ops.add(op);
+        }
+        return ops.toArray(new Op[0]);
+    }
+
+    /* --- Report --- */
+
+    private Endpoint endpoint(String label) {
+        return endpoints.computeIfAbsent(label, l -> new Endpoint());
+    }
+
+    private ObjectNode report(double seconds) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("users", USERS);
+        root.put("concurrency", CONCURRENCY);
+        root.put("durationSeconds", seconds);
+        root.put("processors", Runtime.getRuntime().availableProcessors());
+        root.put("virtualThreads", virtualThreads());
+        root.put("tomcatMaxThreads", environment.getProperty("server.tomcat.threads.max", Integer.class, 200));
+        // 플랫폼 스레드만 센다 (가상 스레드 모드에서는 캐리어 + 기타 풀)
+        root.put("peakPlatformThreads", ManagementFactory.getThreadMXBean().getPeakThreadCount());
+        pinned(root.putObject("pinned"));
+        ArrayNode rows = root.putArray("endpoints");
+
+        System.out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        List<String> labels = new ArrayList<>();
+        for (Op op : Op.values()) labels.add(op.label);
+        labels.add(OCR_JOB);
+
+        for (String label : labels) {
+            Endpoint e = endpoints.get(label);
+            if (e == null) continue;
+            Histogram h = e.snapshot();
+            long count = h.getTotalCount();
+            double throughput = count / seconds;
+
+            ObjectNode row = rows.addObject();
+            row.put("endpoint", label);
+            row.put("requests", count);
+            row.put("errors", e.errors.sum());
+            row.put("throughput", throughput);
+            row.put("p50Ms", millis(h.getValueAtPercentile(50)));
+            row.put("p99Ms", millis(h.getValueAtPercentile(99)));
+            row.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+            row.put("maxMs", millis(h.getMaxValue()));
+
+            System.out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", label, count, e.errors.sum(), throughput,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+        }
+        return root;
+    }
+
+    // PinnedThreadMonitor 가 남긴 고정 시간 (호출 위치별)
+    private void pinned(ObjectNode node) {
+        long events = 0;
+        double totalMs = 0;
+        ObjectNode sites = node.putObject("sites");
+        for (Timer t : meterRegistry.find("posleep.threads.pinned").timers()) {
+            events += t.count();
+            totalMs += t.totalTime(TimeUnit.MILLISECONDS);
+            sites.put(t.getId().getTag("site"), t.count());
+        }
+        node.put("events", events);
+        node.put("totalMs", totalMs);
+        System.out.printf("[loadTest] pinned events=%d total=%.1fms sites=%d%n", events, totalMs, sites.size());
+    }
+
+    private boolean virtualThreads() {
+        return environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * 엔드포인트별 지연 기록 (HdrHistogram Recorder, 기록은 lock-free)
+     */
+    private static final class Endpoint {
+        private final Recorder recorder = new Recorder(HIGHEST_MICROS, 3);
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final Histogram total = new Histogram(HIGHEST_MICROS, 3);
+
+        void record(long nanos, boolean success) {
+            recorder.recordValue(Math.min(HIGHEST_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+            (success ? successes : errors).increment();
+        }
+
+        synchronized Histogram snapshot() {
+            total.add(recorder.getIntervalHistogram());
+            return total.copy();
+        }
+
+        synchronized void reset() {
+            recorder.reset();
+            total.reset();
+            successes.reset();
+            errors.reset();
+        }
+    }
+
+    /* --- Seed --- */
+
+    private void seedCatalog(String suffix) {
+        Random random = new Random(42);
+        List<Object[]> args = new ArrayList<>();
+        for (int i = 0; i < INGREDIENTS; i++) args.add(new Object[]{ "부하재료" + i + "-" + suffix });
+        jdbc.batchUpdate("INSERT INTO ingredient (name) VALUES (?)", args);
+        ingredientIds = jdbc.queryForList("SELECT id FROM ingredient WHERE name LIKE ? ORDER BY id",
+                Integer.class, "부하재료%-" + suffix);
+
+        recipeIds = new ArrayList<>();
+        Integer nextRiId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM recipe_ingredient", Integer.class);
+        List<Object[]> riArgs = new ArrayList<>();
+        for (int r = 0; r < RECIPES; r++) {
+            String name = "부하레시피" + r + "-" + suffix;
+            int count = 1 + random.nextInt(4);
+            Integer[] ids = new Integer[4];
+            Integer[] needs = new Integer[4];
+            int total = 0;
+            for (int s = 0; s < count; s++) {
+                ids[s] = ingredientIds.get((r + s * 7) % ingredientIds.size());
+                needs[s] = 3 + random.nextInt(15);
+                total += needs[s];
+            }
+            jdbc.update("""
+                    INSERT INTO recipe (name, category, total_quantity, energy,
+                                        ingredient_id1, need1, ingredient_id2, need2,
+                                        ingredient_id3, need3, ingredient_id4, need4)
+                    VALUES (?, '부하', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """, name, total, 100 + random.nextInt(5_000),
+                    ids[0], needs[0], ids[1], needs[1], ids[2], needs[2], ids[3], needs[3]);
+            Integer recipeId = jdbc.queryForObject("SELECT id FROM recipe WHERE name = ?", Integer.class, name);
+            recipeIds.add(recipeId);
+            for (int s = 0; s < count; s++) {
+                riArgs.add(new Object[]{ nextRiId++, recipeId, ids[s], needs[s], s + 1 });
+            }
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO recipe_ingredient (id, recipe_id, ingredient_id, quantity, position)
+                VALUES (?, ?, ?, ?, ?)
+                """, riArgs);
+        recipeCatalog.reload();
+    }
+
+    // AuthService.register 로 가입 (해시는 한 번만 계산해 재사용)
+    private void seedUsers(String suffix) {
+        String encoded = passwordEncoder.encode(PASSWORD);
+        userNames = new ArrayList<>(USERS);
+        for (int u = 0; u < USERS; u++) {
+            String name = "load-" + u + "-" + suffix;
+            authService.register(name, encoded);
+            userNames.add(name);
+        }
+        tokens = new AtomicReferenceArray<>(USERS);
+
+        List<Integer> userIds = jdbc.queryForList("SELECT id FROM user WHERE name LIKE ?",
+                Integer.class, "load-%-" + suffix);
+        List<Object[]> args = new ArrayList<>();
+        for (Integer userId : userIds) {
+            for (Integer ingredientId : ingredientIds) args.add(new Object[]{ userId, ingredientId, 500 });
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO user_ingredient (user_id, ingredient_id, quantity, is_registered)
+                VALUES (?, ?, ?, 1)
+                ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)
+                """, args);
+    }
+
+    // 화면 비율이 실제 스크린샷과 같은 PNG (픽셀 하나씩 달라 digest 가 서로 다름)
+    private List<byte[]> ocrImages() throws IOException {
+        List<byte[]> images = new ArrayList<>();
+        for (int i = 0; i < OCR_IMAGES; i++) {
+            BufferedImage image = new BufferedImage(360, 780, BufferedImage.TYPE_INT_RGB);
+            image.setRGB(i % 360, i / 360, 0xFFFFFF);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            images.add(out.toByteArray());
+        }
+        return images;
+    }
+}
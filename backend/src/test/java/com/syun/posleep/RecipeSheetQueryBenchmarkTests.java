@@ -0,0 +1,290 @@
+package com.syun.posleep;
+
+import com.syun.posleep.catalog.RecipeCatalog;
+import com.syun.posleep.catalog.RecipeSheetItem;
+import com.syun.posleep.repository.RecipeQueryRepository;
+import com.syun.posleep.service.RecipeService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 레시피 시트 조회 경로 비교 (./gradlew -p backend queryBenchmark)
+ * - fixed:      recipe 고정 컬럼 4칸 self-join (FIXED_SHEET, 카탈로그 도입 전 조회)
+ * - normalized: recipe_ingredient 한 번 읽기 (NORMALIZED_SHEET)
+ * - catalog:    메모리 카탈로그 + 유저 수량/플래그 2쿼리 (RecipeService.findRecipeSheetItems)
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class RecipeSheetQueryBenchmarkTests {
+
+    private static final int INGREDIENTS = 40;
+    private static final int RECIPES = 80;
+    private static final int USERS = 2_000;
+    private static final int WARMUP = 200;
+    private static final int SAMPLES = 1_000;
+
+    // 고정 컬럼 시트: 식재료 칸마다 user_ingredient/ingredient 가 한 번씩 붙는다
+    private static final String FIXED_SHEET = """
+            SELECT
+                r.id                        AS id,
+                ur.is_target                AS isTarget,
+                ur.is_registered            AS isRegistered,
+                r.category                  AS category,
+                r.name                      AS name,
+
+                i1.name                     AS ingredient1,
+                COALESCE(r.need1, 0)        AS need1,
+                CASE
+                    WHEN i1.name IS NOT NULL AND r.need1 > ui1.quantity
+                        THEN r.need1 - ui1.quantity
+                    ELSE 0
+                    END                     AS req1,
+
+                i2.name                     AS ingredient2,
+                COALESCE(r.need2, 0)        AS need2,
+                CASE
+                    WHEN i2.name IS NOT NULL AND r.need2 > ui2.quantity
+                        THEN r.need2 - ui2.quantity
+                    ELSE 0
+                    END                     AS req2,
+
+                i3.name                     AS ingredient3,
+                COALESCE(r.need3, 0)        AS need3,
+                CASE
+                    WHEN i3.name IS NOT NULL AND r.need3 > ui3.quantity
+                        THEN r.need3 - ui3.quantity
+                    ELSE 0
+                    END                     AS req3,
+
+                i4.name                     AS ingredient4,
+                COALESCE(r.need4, 0)        AS need4,
+                CASE
+                    WHEN i4.name IS NOT NULL AND r.need4 > ui4.quantity
+                        THEN r.need4 - ui4.quantity
+                    ELSE 0
+                    END                     AS req4,
+
+                r.total_quantity            AS totalQuantity,
+                r.energy                    AS energy
+            FROM recipe r
+                     LEFT JOIN user_ingredient  ui1     ON ui1.ingredient_id    = r.ingredient_id1      AND ui1.user_id = :userId
+                     LEFT JOIN ingredient       i1      ON r.ingredient_id1     = i1.id
+
+                     LEFT JOIN user_ingredient  ui2     ON ui2.ingredient_id    = r.ingredient_id2      AND ui2.user_id = :userId
+                     LEFT JOIN ingredient       i2      ON r.ingredient_id2     = i2.id
+
+                     LEFT JOIN user_ingredient  ui3     ON ui3.ingredient_id    = r.ingredient_id3      AND ui3.user_id = :userId
+                     LEFT JOIN ingredient       i3      ON r.ingredient_id3     = i3.id
+
+                     LEFT JOIN user_ingredient  ui4     ON ui4.ingredient_id    = r.ingredient_id4      AND ui4.user_id = :userId
+                     LEFT JOIN ingredient       i4      ON r.ingredient_id4     = i4.id
+
+                     LEFT JOIN user_recipe      ur      ON r.id = ur.recipe_id                          AND ur.user_id = :userId
+
+            ORDER BY
+                r.id
+            """;
+
+    // 정규화 시트: recipe_ingredient 를 한 번만 읽어 (recipe_id, position) 순으로. 플래그는 따로 조회
+    private static final String NORMALIZED_SHEET = """
+            SELECT
+                ri.recipe_id                AS recipe_id,
+                i.name                      AS ingredient_name,
+                ri.quantity                 AS need,
+                CASE
+                    WHEN ri.quantity > COALESCE(ui.quantity, 0)
+                        THEN ri.quantity - COALESCE(ui.quantity, 0)
+                    ELSE 0
+                    END                     AS req
+            FROM recipe_ingredient ri
+                     JOIN ingredient            i       ON i.id = ri.ingredient_id
+                     LEFT JOIN user_ingredient  ui      ON ui.ingredient_id = ri.ingredient_id     AND ui.user_id = :userId
+            ORDER BY
+                ri.recipe_id, ri.position
+            """;
+
+    @Autowired
+    private RecipeQueryRepository recipeQueryRepository;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeCatalog recipeCatalog;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbc;
+
+    @Test
+    void compareFixedColumnJoinsWithNormalizedPath() {
+        Random random = new Random(42);
+        String suffix = String.valueOf(System.nanoTime());
+
+        List<Integer> ingredientIds = seedIngredients(suffix);
+        Map<Integer, List<int[]>> recipes = seedRecipes(suffix, ingredientIds, random);
+        List<Integer> userIds = seedUsers(suffix, ingredientIds, new ArrayList<>(recipes.keySet()), random);
+        recipeCatalog.reload();
+
+        // 세 경로가 같은 식재료/필요 수량을 돌려주는지 먼저 확인
+        Integer probe = userIds.get(0);
+        Map<Integer, List<String>> fixed = new HashMap<>();
+        namedJdbc.query(FIXED_SHEET, user(probe), rs -> {
+            int recipeId = rs.getInt("id");
+            if (!recipes.containsKey(recipeId)) return;
+            List<String> names = new ArrayList<>();
+            for (int s = 1; s <= 4; s++) {
+                String name = rs.getString("ingredient" + s);
+                if (name != null) names.add(name);
+            }
+            fixed.put(recipeId, names);
+        });
+        Map<Integer, List<String>> normalized = new HashMap<>();
+        namedJdbc.query(NORMALIZED_SHEET, user(probe), rs -> {
+            int recipeId = rs.getInt("recipe_id");
+            if (!recipes.containsKey(recipeId)) return;
+            normalized.computeIfAbsent(recipeId, k -> new ArrayList<>()).add(rs.getString("ingredient_name"));
+        });
+        Map<Integer, List<String>> catalog = new HashMap<>();
+        for (RecipeSheetItem item : recipeService.findRecipeSheetItems(probe)) {
+            if (!recipes.containsKey(item.id())) continue;
+            catalog.put(item.id(), item.ingredients().stream().map(RecipeSheetItem.Ingredient::name).toList());
+        }
+        assertThat(normalized).isEqualTo(fixed);
+        assertThat(catalog).isEqualTo(fixed);
+
+        report("fixed", userIds, random, i -> namedJdbc.queryForList(FIXED_SHEET, user(userIds.get(i))));
+        report("normalized", userIds, random, i -> {
+            namedJdbc.queryForList(NORMALIZED_SHEET, user(userIds.get(i)));
+            recipeQueryRepository.findUserRecipeFlags(userIds.get(i));
+        });
+        report("catalog", userIds, random, i -> recipeService.findRecipeSheetItems(userIds.get(i)));
+    }
+
+    private static MapSqlParameterSource user(Integer userId) {
+        return new MapSqlParameterSource("userId", userId);
+    }
+
+    private void report(String label, List<Integer> userIds, Random random, IntConsumer query) {
+        for (int i = 0; i < WARMUP; i++) query.accept(random.nextInt(userIds.size()));
+
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int user = random.nextInt(userIds.size());
+            long start = System.nanoTime();
+            query.accept(user);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("[queryBenchmark] %-10s users=%d recipes=%d p50=%.3fms p99=%.3fms max=%.3fms%n",
+                label, USERS, RECIPES,
+                nanos[SAMPLES / 2] / 1e6, nanos[SAMPLES * 99 / 100] / 1e6, nanos[SAMPLES - 1] / 1e6);
+    }
+
+    /* --- Seed --- */
+
+    private List<Integer> seedIngredients(String suffix) {
+        List<Object[]> args = new ArrayList<>();
+        for (int i = 0; i < INGREDIENTS; i++) args.add(new Object[]{ "벤치재료" + i + "-" + suffix });
+        jdbc.batchUpdate("INSERT INTO ingredient (name) VALUES (?)", args);
+        return jdbc.queryForList("SELECT id FROM ingredient WHERE name LIKE ? ORDER BY id",
+                Integer.class, "벤치재료%-" + suffix);
+    }
+
+    // recipe id -> position 순 {ingredient id, need} (고정 컬럼과 recipe_ingredient 에 같은 값)
+    private Map<Integer, List<int[]>> seedRecipes(String suffix, List<Integer> ingredientIds, Random random) {
+        Map<Integer, List<int[]>> recipes = new HashMap<>();
+        Integer nextRiId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM recipe_ingredient", Integer.class);
+        List<Object[]> riArgs = new ArrayList<>();
+
+        for (int r = 0; r < RECIPES; r++) {
+            String name = "벤치레시피" + r + "-" + suffix;
+            int count = 1 + random.nextInt(4);
+            Integer[] ids = new Integer[4];
+            Integer[] needs = new Integer[4];
+            Set<Integer> used = new HashSet<>();
+            List<int[]> slots = new ArrayList<>();
+            for (int s = 0; s < count; s++) {
+                int ingredientId;
+                do {
+                    ingredientId = ingredientIds.get(random.nextInt(ingredientIds.size()));
+                } while (!used.add(ingredientId));
+                ids[s] = ingredientId;
+                needs[s] = 3 + random.nextInt(20);
+                slots.add(new int[]{ ingredientId, needs[s] });
+            }
+            int total = slots.stream().mapToInt(s -> s[1]).sum();
+
+            jdbc.update("""
+                    INSERT INTO recipe (name, category, total_quantity, energy,
+                                        ingredient_id1, need1, ingredient_id2, need2,
+                                        ingredient_id3, need3, ingredient_id4, need4)
+                    VALUES (?, '벤치', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """, name, total, 100 + random.nextInt(5_000),
+                    ids[0], needs[0], ids[1], needs[1], ids[2], needs[2], ids[3], needs[3]);
+            Integer recipeId = jdbc.queryForObject("SELECT id FROM recipe WHERE name = ?", Integer.class, name);
+
+            for (int s = 0; s < slots.size(); s++) {
+                riArgs.add(new Object[]{ nextRiId++, recipeId, slots.get(s)[0], slots.get(s)[1], s + 1 });
+            }
+            recipes.put(recipeId, slots);
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO recipe_ingredient (id, recipe_id, ingredient_id, quantity, position)
+                VALUES (?, ?, ?, ?, ?)
+                """, riArgs);
+        return recipes;
+    }
+
+    // 유저마다 식재료 약 60%, 레시피 약 50% 에 행이 있는 상태 (sparse 저장)
+    private List<Integer> seedUsers(String suffix, List<Integer> ingredientIds, List<Integer> recipeIds, Random random) {
+        List<Object[]> userArgs = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) userArgs.add(new Object[]{ "bench-" + u + "-" + suffix });
+        jdbc.batchUpdate("INSERT INTO user (name, password, role, token_version) VALUES (?, '{noop}password', 'ROLE_USER', 0)", userArgs);
+        List<Integer> userIds = jdbc.queryForList("SELECT id FROM user WHERE name LIKE ? ORDER BY id",
+                Integer.class, "bench-%-" + suffix);
+
+        List<Object[]> uiArgs = new ArrayList<>();
+        List<Object[]> urArgs = new ArrayList<>();
+        for (Integer userId : userIds) {
+            for (Integer ingredientId : ingredientIds) {
+                if (random.nextInt(10) < 6) uiArgs.add(new Object[]{ userId, ingredientId, random.nextInt(60) });
+            }
+            for (Integer recipeId : recipeIds) {
+                if (random.nextBoolean()) urArgs.add(new Object[]{ userId, recipeId, true, random.nextInt(4) == 0 });
+            }
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO user_ingredient (user_id, ingredient_id, quantity, is_registered)
+                VALUES (?, ?, ?, 1)
+                ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)
+                """, uiArgs);
+        jdbc.batchUpdate("""
+                INSERT INTO user_recipe (user_id, recipe_id, is_registered, is_target)
+                VALUES (?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE is_registered = VALUES(is_registered), is_target = VALUES(is_target)
+                """, urArgs);
+        return userIds;
+    }
+}
@@ -0,0 +1,32 @@
+package com.syun.posleep;
+
+import com.syun.posleep.jdbc.SqlStatementCounter;
+import com.syun.posleep.jdbc.SqlStats;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL 문 개수 예산 검사.
+ * <pre>
+ * SqlAssertions.assertStatementsAtMost(2, () -> mockMvc.perform(get("/recipes")...));
+ * </pre>
+ */
+final class SqlAssertions {
+
+    private SqlAssertions() {}
+
+    static <T> T assertStatementsAtMost(int budget, ThrowingSupplier<T> action) throws Throwable {
+        SqlStats stats = SqlStatementCounter.begin();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            SqlStatementCounter.end(stats);
+        }
+        assertThat(stats.statements())
+                .as("SQL statements (%s)", stats)
+                .isLessThanOrEqualTo(budget);
+        return result;
+    }
+}
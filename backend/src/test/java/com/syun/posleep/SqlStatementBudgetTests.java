@@ -0,0 +1,80 @@
+package com.syun.posleep;
+
+import com.syun.posleep.domain.User;
+import com.syun.posleep.repository.UserRepository;
+import com.syun.posleep.security.jwt.JwtTokenProvider;
+import com.syun.posleep.service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 읽기 엔드포인트의 SQL 문 개수 예산 (N+1 회귀 방지)
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = "budget-" + System.nanoTime();
+        authService.register(name, "{noop}password");
+        User user = userRepository.findByName(name).orElseThrow();
+        bearer = "Bearer " + jwtTokenProvider.createToken(user.getId(), name, user.getRole(), user.getTokenVersion());
+
+        // 데이터 버전 캐시 적재
+        mockMvc.perform(get("/recipes").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isOk());
+    }
+
+    @Test
+    void recipeSheetRunsAtMostTwoStatements() throws Throwable {
+        // 보유 수량 + 레시피 플래그
+        SqlAssertions.assertStatementsAtMost(2, () -> mockMvc.perform(get("/recipes")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void notModifiedRecipeSheetRunsNoStatements() throws Throwable {
+        MvcResult first = mockMvc.perform(get("/recipes").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        SqlAssertions.assertStatementsAtMost(0, () -> mockMvc.perform(get("/recipes")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()));
+    }
+
+    @Test
+    void ingredientSheetRunsOneStatement() throws Throwable {
+        SqlAssertions.assertStatementsAtMost(1, () -> mockMvc.perform(get("/ingredients")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk()));
+    }
+}
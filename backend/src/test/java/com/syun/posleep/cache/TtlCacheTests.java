@@ -0,0 +1,107 @@
+package com.syun.posleep.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TtlCacheTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    void entryExpiresAfterTtl() {
+        TtlCache<String, String> cache = new TtlCache<>(10, 100, now::get);
+        cache.put("a", "A");
+
+        now.addAndGet(99);
+        assertThat(cache.get("a")).isEqualTo("A");
+
+        now.addAndGet(1);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void entryExpiresAtEarlierOfExpiryAndTtl() {
+        TtlCache<String, String> cache = new TtlCache<>(10, 100, now::get);
+        cache.put("exp-first", "A", now.get() + 30);
+        cache.put("ttl-first", "B", now.get() + 500);
+
+        now.addAndGet(30);
+        assertThat(cache.get("exp-first")).isNull();
+        assertThat(cache.get("ttl-first")).isEqualTo("B");
+
+        now.addAndGet(70);
+        assertThat(cache.get("ttl-first")).isNull();
+    }
+
+    @Test
+    void alreadyExpiredEntryIsNotStored() {
+        TtlCache<String, String> cache = new TtlCache<>(10, 100, now::get);
+        cache.put("a", "A", now.get());
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAtMaxSize() {
+        TtlCache<String, String> cache = new TtlCache<>(2, 1_000, now::get);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        // a 를 읽어 가장 최근으로
+        cache.get("a");
+        cache.put("c", "C");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("A");
+        assertThat(cache.get("c")).isEqualTo("C");
+    }
+
+    @Test
+    void nonPositiveMaxSizeDisablesCache() {
+        for (int maxSize : new int[]{ 0, -1 }) {
+            TtlCache<String, String> cache = new TtlCache<>(maxSize, 1_000, now::get);
+            AtomicInteger loads = new AtomicInteger();
+
+            assertThat(cache.isEnabled()).isFalse();
+            cache.put("a", "A");
+            assertThat(cache.get("a")).isNull();
+            assertThat(cache.getOrLoad("b", k -> "B" + loads.incrementAndGet())).isEqualTo("B1");
+            assertThat(cache.getOrLoad("b", k -> "B" + loads.incrementAndGet())).isEqualTo("B2");
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Test
+    void mergeCombinesWithLiveEntryAndRefreshesExpiry() {
+        TtlCache<String, Long> cache = new TtlCache<>(10, 100, now::get);
+
+        assertThat(cache.merge("a", 5L, Math::max)).isEqualTo(5L);
+        now.addAndGet(60);
+        assertThat(cache.merge("a", 3L, Math::max)).isEqualTo(5L);
+
+        // 두 번째 merge 에서 만료가 다시 잡힌다
+        now.addAndGet(60);
+        assertThat(cache.get("a")).isEqualTo(5L);
+
+        // 만료된 값과는 합치지 않는다
+        now.addAndGet(100);
+        assertThat(cache.merge("a", 3L, Math::max)).isEqualTo(3L);
+    }
+
+    @Test
+    void getOrLoadCachesLoadedValueButNotNull() {
+        TtlCache<String, String> cache = new TtlCache<>(10, 1_000, now::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.getOrLoad("a", k -> "A" + loads.incrementAndGet())).isEqualTo("A1");
+        assertThat(cache.getOrLoad("a", k -> "A" + loads.incrementAndGet())).isEqualTo("A1");
+
+        assertThat(cache.getOrLoad("missing", k -> null)).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
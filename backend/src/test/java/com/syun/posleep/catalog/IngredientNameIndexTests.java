@@ -0,0 +1,102 @@
+package com.syun.posleep.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngredientNameIndexTests {
+
+    private static final List<String> NAMES = List.of("굵은대파", "따끈따끈감자", "특선에그", "당근", "가나다라", "가나다마");
+
+    private final IngredientNameIndex index = index(NAMES);
+
+    @Test
+    void exactNameHasDistanceZero() {
+        NameMatch match = index.resolve("특선에그");
+
+        assertThat(match.name()).isEqualTo("특선에그");
+        assertThat(match.ingredientId()).isEqualTo(3);
+        assertThat(match.isExact()).isTrue();
+        assertThat(match.confidence()).isEqualTo(1.0);
+        assertThat(match.isAmbiguous()).isFalse();
+    }
+
+    @Test
+    void oneJamoMisreadResolvesToClosestName() {
+        // 파 -> 바 (초성 하나)
+        NameMatch match = index.resolve("굵은대바");
+
+        assertThat(match.name()).isEqualTo("굵은대파");
+        assertThat(match.distance()).isEqualTo(1);
+        assertThat(match.isExact()).isFalse();
+        assertThat(match.isAmbiguous()).isFalse();
+    }
+
+    @Test
+    void equallyCloseCandidatesAreAmbiguous() {
+        // 바 는 라/마 와 초성 하나씩 다르다
+        NameMatch match = index.resolve("가나다바");
+
+        assertThat(match.distance()).isEqualTo(1);
+        assertThat(match.isAmbiguous()).isTrue();
+        List<Integer> candidates = new ArrayList<>(match.ambiguityIds());
+        candidates.add(match.ingredientId());
+        assertThat(candidates).containsExactlyInAnyOrder(5, 6);
+        assertThat(match.ambiguities()).hasSize(1);
+    }
+
+    @Test
+    void distanceBoundScalesWithTokenLength() {
+        // 당근 = 자모 6개 -> 허용 거리 2
+        assertThat(index.resolve("당금").name()).isEqualTo("당근");
+        assertThat(index.resolve("낭금").name()).isEqualTo("당근");
+        assertThat(index.resolve("낭검")).isNull();
+        assertThat(index.resolve("완전히다른이름")).isNull();
+        assertThat(index.resolve("")).isNull();
+    }
+
+    @Test
+    void matchesLinearScanOnRandomNames() {
+        Random random = new Random(7);
+        String syllables = "가나다라마바사아자차카타파하감곤둘림";
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 300; i++) names.add(randomName(random, syllables));
+        IngredientNameIndex randomIndex = index(names);
+
+        for (int t = 0; t < 500; t++) {
+            String token = randomName(random, syllables);
+            int[] key = IngredientNameIndex.decompose(token);
+            int bound = Math.min(IngredientNameIndex.MAX_DISTANCE, Math.max(1, key.length / IngredientNameIndex.JAMO_PER_EDIT));
+
+            int bestDistance = Integer.MAX_VALUE;
+            for (String name : names) {
+                bestDistance = Math.min(bestDistance, IngredientNameIndex.distance(key, IngredientNameIndex.decompose(name)));
+            }
+
+            NameMatch match = randomIndex.resolve(token);
+            if (bestDistance > bound) {
+                assertThat(match).as(token).isNull();
+            } else {
+                assertThat(match).as(token).isNotNull();
+                assertThat(match.distance()).as(token).isEqualTo(bestDistance);
+            }
+        }
+    }
+
+    private static IngredientNameIndex index(List<String> names) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) ids.add(i + 1);
+        return IngredientNameIndex.build(ids, names);
+    }
+
+    private static String randomName(Random random, String syllables) {
+        int length = 2 + random.nextInt(4);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) sb.append(syllables.charAt(random.nextInt(syllables.length())));
+        return sb.toString();
+    }
+}
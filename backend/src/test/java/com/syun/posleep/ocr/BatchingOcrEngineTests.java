@@ -0,0 +1,156 @@
+package com.syun.posleep.ocr;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchingOcrEngineTests {
+
+    @Test
+    void flushesPartialBatchWhenWindowElapses() throws Exception {
+        FakeEngine fake = new FakeEngine();
+        try (BatchingOcrEngine engine = new BatchingOcrEngine(fake, 8, 200, 5_000, 2)) {
+            List<String> texts = recognizeConcurrently(engine, "a", "b", "c");
+
+            assertThat(texts).containsExactly("a", "b", "c");
+            assertThat(fake.batchSizes).containsExactly(3);
+        }
+    }
+
+    @Test
+    void flushesFullBatchWithoutWaitingForWindow() throws Exception {
+        FakeEngine fake = new FakeEngine();
+        try (BatchingOcrEngine engine = new BatchingOcrEngine(fake, 2, 60_000, 5_000, 2)) {
+            long start = System.nanoTime();
+            List<String> texts = recognizeConcurrently(engine, "a", "b");
+
+            assertThat(texts).containsExactly("a", "b");
+            assertThat(fake.batchSizes).containsExactly(2);
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        }
+    }
+
+    @Test
+    void failsOnlyTheImageThatFailed() throws Exception {
+        FakeEngine fake = new FakeEngine();
+        try (BatchingOcrEngine engine = new BatchingOcrEngine(fake, 2, 60_000, 5_000, 2)) {
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            try {
+                Future<String> ok = pool.submit(() -> engine.recognize(image("ok")));
+                Future<String> bad = pool.submit(() -> engine.recognize(image(FakeEngine.FAIL)));
+
+                assertThat(ok.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+                assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(OcrException.class);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    void timesOutWhenDelegateDoesNotAnswer() {
+        FakeEngine fake = new FakeEngine();
+        fake.block = new CountDownLatch(1);
+        try (BatchingOcrEngine engine = new BatchingOcrEngine(fake, 1, 10, 100, 1)) {
+            assertThatThrownBy(() -> engine.recognize(image("slow")))
+                    .isInstanceOf(OcrException.class)
+                    .hasMessageContaining("시간 초과");
+        } finally {
+            fake.block.countDown();
+        }
+    }
+
+    @Test
+    void slowBatchDoesNotDelayNextWindow() throws Exception {
+        FakeEngine fake = new FakeEngine();
+        fake.block = new CountDownLatch(1);
+        fake.blockText = "slow";
+        try (BatchingOcrEngine engine = new BatchingOcrEngine(fake, 1, 10, 5_000, 2)) {
+            ExecutorService pool = Executors.newSingleThreadExecutor();
+            try {
+                Future<String> slow = pool.submit(() -> engine.recognize(image("slow")));
+                assertThat(fake.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+                // 첫 배치가 RPC 에서 막혀 있어도 다음 배치는 다른 전송 스레드에서 나간다
+                assertThat(engine.recognize(image("fast"))).isEqualTo("fast");
+                assertThat(slow.isDone()).isFalse();
+
+                fake.block.countDown();
+                assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+            } finally {
+                pool.shutdownNow();
+            }
+        } finally {
+            fake.block.countDown();
+        }
+    }
+
+    private static List<String> recognizeConcurrently(BatchingOcrEngine engine, String... texts) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(texts.length);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (String text : texts) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return engine.recognize(image(text));
+                }));
+            }
+            start.countDown();
+            List<String> results = new ArrayList<>();
+            for (Future<String> f : futures) results.add(f.get(5, TimeUnit.SECONDS));
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static OcrImage image(String text) {
+        return new OcrImage(ByteString.copyFromUtf8(text), text, ImageFormat.PNG);
+    }
+
+    /**
+     * 이미지 바이트를 그대로 텍스트로 돌려주는 엔진 (FAIL 은 실패, blockText 는 block 이 풀릴 때까지 대기)
+     */
+    private static final class FakeEngine implements OcrEngine {
+        static final String FAIL = "fail";
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch block;
+        private volatile String blockText;
+
+        @Override
+        public List<OcrText> recognizeBatch(List<OcrImage> images) {
+            batchSizes.add(images.size());
+            List<OcrText> results = new ArrayList<>();
+            for (OcrImage image : images) {
+                String text = image.content().toStringUtf8();
+                if (block != null && (blockText == null || blockText.equals(text))) await();
+                results.add(FAIL.equals(text) ? OcrText.failed("인식 실패") : OcrText.of(text));
+            }
+            return results;
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                block.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.syun.posleep.ocr;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CropProfileTests {
+
+    @Test
+    void parsesEntriesAndSkipsBlanks() {
+        List<CropProfile> profiles = CropProfile.parseAll(" 2.17=0.12,0.96,0,1 ;; 1.78 = 0.08, 0.97, 0.1, 0.9 ;");
+
+        assertThat(profiles).containsExactly(
+                new CropProfile(2.17, 0.12, 0.96, 0, 1),
+                new CropProfile(1.78, 0.08, 0.97, 0.1, 0.9));
+        assertThat(CropProfile.parseAll(null)).isEmpty();
+        assertThat(CropProfile.parseAll("  ")).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedSpecs() {
+        for (String spec : List.of(
+                "2.17",                     // '=' 없음
+                "2.17=0.1,0.9,0",           // 값 3개
+                "2.17=0.1,0.9,0,1,1",       // 값 5개
+                "2.17=0.1=0.9,0,1",         // '=' 두 개
+                "abc=0.1,0.9,0,1",          // 숫자 아님
+                "2.17=0.1,x,0,1")) {
+            assertThatThrownBy(() -> CropProfile.parseAll(spec)).as(spec)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsRegionsOutsideImage() {
+        for (String spec : List.of(
+                "2.17=0.9,0.1,0,1",         // top >= bottom
+                "2.17=0.1,0.9,0.5,0.5",     // left >= right
+                "2.17=-0.1,0.9,0,1",        // top < 0
+                "2.17=0.1,1.1,0,1",         // bottom > 1
+                "2.17=0.1,0.9,0,1.01",      // right > 1
+                "0=0.1,0.9,0,1")) {         // aspect <= 0
+            assertThatThrownBy(() -> CropProfile.parseAll(spec)).as(spec)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("crop 영역");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.syun.posleep.ocr;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImagePreprocessorTests {
+
+    private final ImagePreprocessor preprocessor = new ImagePreprocessor(
+            CropProfile.parseAll("2.17=0.12,0.96,0,1;2.0=0.1,0.9,0.25,0.75;1.78=0.08,0.97,0,1"), 720);
+
+    @Test
+    void picksClosestProfileWithinTolerance() {
+        assertThat(preprocessor.profileFor(2.16).aspect()).isEqualTo(2.17);
+        assertThat(preprocessor.profileFor(2.05).aspect()).isEqualTo(2.0);
+        assertThat(preprocessor.profileFor(1.85).aspect()).isEqualTo(1.78);
+        assertThat(preprocessor.profileFor(1.0)).isNull();
+        assertThat(preprocessor.profileFor(3.0)).isNull();
+    }
+
+    @Test
+    void cropsProfileRegion() {
+        BufferedImage cropped = preprocessor.crop(new BufferedImage(100, 200, BufferedImage.TYPE_INT_RGB));
+
+        // 2.0 = top 0.1, bottom 0.9, left 0.25, right 0.75
+        assertThat(cropped.getMinX()).isZero();
+        assertThat(cropped.getWidth()).isEqualTo(50);
+        assertThat(cropped.getHeight()).isEqualTo(160);
+    }
+
+    @Test
+    void cropStaysInsideImageForOddSizes() {
+        ImagePreprocessor full = new ImagePreprocessor(CropProfile.parseAll("2.0=0.999,1,0.999,1"), 720);
+        for (int w = 1; w <= 7; w++) {
+            BufferedImage cropped = full.crop(new BufferedImage(w, w * 2, BufferedImage.TYPE_INT_RGB));
+            assertThat(cropped.getWidth()).isBetween(1, w);
+            assertThat(cropped.getHeight()).isBetween(1, w * 2);
+        }
+    }
+
+    @Test
+    void keepsImageWithoutMatchingProfileUncropped() {
+        BufferedImage src = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        assertThat(preprocessor.crop(src)).isSameAs(src);
+    }
+
+    @Test
+    void skipsDecodingWhenHeaderDeclaresTooManyPixels() {
+        // IHDR 만 있는 30000x30000 PNG (디코딩하면 수 GB)
+        OcrImage bomb = OcrImageReader.of(pngHeaderOnly(30_000, 30_000));
+
+        assertThat(preprocessor.process(bomb)).isSameAs(bomb);
+    }
+
+    @Test
+    void skipsDecodingAboveConfiguredPixelCap() throws IOException {
+        // 상한이 없으면 줄어드는 이미지 (shrinksScreenshotUnderCap)
+        OcrImage image = OcrImageReader.of(noisePng(1080, 2340));
+        ImagePreprocessor capped = new ImagePreprocessor(CropProfile.parseAll("2.17=0.12,0.96,0,1"), 720, 1080 * 2340 - 1);
+
+        assertThat(capped.process(image)).isSameAs(image);
+    }
+
+    @Test
+    void shrinksScreenshotUnderCap() throws IOException {
+        OcrImage image = OcrImageReader.of(noisePng(1080, 2340));
+        OcrImage out = new ImagePreprocessor(CropProfile.parseAll("2.17=0.12,0.96,0,1"), 720).process(image);
+
+        assertThat(out).isNotSameAs(image);
+        assertThat(out.format()).isEqualTo(ImageFormat.PNG);
+        assertThat(out.digest()).isEqualTo(image.digest());
+        BufferedImage decoded = ImageIO.read(out.content().newInput());
+        assertThat(decoded.getWidth()).isEqualTo(720);
+    }
+
+    private static byte[] noisePng(int width, int height) throws IOException {
+        Random random = new Random(1);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) image.setRGB(x, y, random.nextInt());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    // PNG 시그니처 + IHDR + IEND (픽셀 데이터 없음)
+    private static byte[] pngHeaderOnly(int width, int height) {
+        ByteBuffer ihdr = ByteBuffer.allocate(13)
+                .putInt(width).putInt(height)
+                .put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[]{ (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' });
+        chunk(out, "IHDR", ihdr.array());
+        chunk(out, "IEND", new byte[0]);
+        return out.toByteArray();
+    }
+
+    private static void chunk(ByteArrayOutputStream out, String type, byte[] data) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(data.length).array());
+        out.writeBytes(typeBytes);
+        out.writeBytes(data);
+        out.writeBytes(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+    }
+}
@@ -0,0 +1,46 @@
+package com.syun.posleep.ocr;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OcrTextParserTests {
+
+    @Test
+    void pairsNamesAndCountsInOrderUntilAnchor() {
+        String text = """
+                가방
+                x12
+                굵은대파
+                x8
+                x21
+                ※풍미버섯↑
+                특선에그
+                돌아간다
+                x5
+                따끈따끈감자
+                """;
+
+        Map<String, Integer> result = OcrTextParser.parse(text);
+
+        assertThat(List.copyOf(result.keySet())).containsExactly("굵은대파", "풍미버섯", "특선에그");
+        assertThat(result).containsEntry("굵은대파", 12).containsEntry("풍미버섯", 8).containsEntry("특선에그", 21);
+    }
+
+    @Test
+    void toleratesBlankLinesAndEmptyText() {
+        assertThat(OcrTextParser.parse("")).isEmpty();
+        assertThat(OcrTextParser.parse("\n\n   \n")).isEmpty();
+        assertThat(OcrTextParser.parse("\r\n\r\n x3\r\n\r\n콩고기\r\n")).containsExactly(Map.entry("콩고기", 3));
+    }
+
+    @Test
+    void ignoresLinesThatAreNotNamesOrCounts() {
+        String text = "x1234\nx7\n풍미 버섯\nabc\n가\n튼튼밀크\n";
+
+        assertThat(OcrTextParser.parse(text)).containsExactly(Map.entry("튼튼밀크", 7));
+    }
+}
@@ -0,0 +1,151 @@
+package com.syun.posleep.planner;
+
+import com.syun.posleep.catalog.CatalogSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MealPlannerTests {
+
+    private static final int INGREDIENTS = 12;
+
+    @Test
+    void matchesBruteForceOnSmallRandomCatalogs() {
+        for (int seed = 0; seed < 40; seed++) {
+            Random random = new Random(seed);
+            CatalogSnapshot catalog = catalog(random, 8, 40);
+            int[] stock = stock(catalog, random, 60);
+            int[] candidates = allRecipes(catalog);
+
+            for (int cooks = 1; cooks <= 6; cooks++) {
+                MealPlanner.Plan plan = MealPlanner.plan(catalog, candidates, stock, cooks, Long.MAX_VALUE, 0);
+
+                long expected = bruteForce(catalog, candidates, 0, stock.clone(), cooks);
+                assertThat(plan.totalEnergy()).as("seed=%d cooks=%d", seed, cooks).isEqualTo(expected);
+                assertThat(plan.exhaustive()).isTrue();
+                assertFeasible(catalog, plan, stock, cooks);
+            }
+        }
+    }
+
+    @Test
+    void stopsAtTimeLimitWithFeasiblePlan() {
+        Random random = new Random(11);
+        CatalogSnapshot catalog = catalog(random, 70, 200);
+        int[] stock = stock(catalog, random, 150);
+
+        long start = System.nanoTime();
+        MealPlanner.Plan plan = MealPlanner.plan(catalog, allRecipes(catalog), stock, 21, Long.MAX_VALUE, 5);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 마감은 노드 1024 개마다 확인하므로 약간 넘을 수 있다
+        assertThat(elapsedMs).isLessThan(500);
+        assertFeasible(catalog, plan, stock, 21);
+    }
+
+    @Test
+    void nodeLimitStillReturnsGreedyPlan() {
+        Random random = new Random(3);
+        CatalogSnapshot catalog = catalog(random, 70, 200);
+        int[] stock = stock(catalog, random, 150);
+
+        MealPlanner.Plan limited = MealPlanner.plan(catalog, allRecipes(catalog), stock, 21, 1, 0);
+
+        assertThat(limited.exhaustive()).isFalse();
+        assertThat(limited.totalEnergy()).isPositive();
+        assertFeasible(catalog, limited, stock, 21);
+    }
+
+    @Test
+    void emptyCandidatesGiveEmptyPlan() {
+        CatalogSnapshot catalog = catalog(new Random(1), 5, 40);
+        MealPlanner.Plan plan = MealPlanner.plan(catalog, new int[0], stock(catalog, new Random(1), 60), 3, Long.MAX_VALUE, 0);
+
+        assertThat(plan.items()).isEmpty();
+        assertThat(plan.totalEnergy()).isZero();
+        assertThat(plan.exhaustive()).isTrue();
+    }
+
+    /* --- Helper --- */
+
+    // 레시피마다 서로 다른 식재료 1~4 개
+    private static CatalogSnapshot catalog(Random random, int recipes, int maxNeed) {
+        CatalogSnapshot.Builder builder = CatalogSnapshot.builder();
+        for (int i = 1; i <= INGREDIENTS; i++) builder.ingredient(i, "재료" + i);
+        for (int r = 1; r <= recipes; r++) {
+            int count = 1 + random.nextInt(4);
+            Integer[] ids = new Integer[count];
+            Integer[] needs = new Integer[count];
+            boolean[] used = new boolean[INGREDIENTS + 1];
+            int total = 0;
+            for (int s = 0; s < count; s++) {
+                int id;
+                do {
+                    id = 1 + random.nextInt(INGREDIENTS);
+                } while (used[id]);
+                used[id] = true;
+                ids[s] = id;
+                needs[s] = 3 + random.nextInt(maxNeed - 2);
+                total += needs[s];
+            }
+            builder.recipe(r, "레시피" + r, "카레", total, 100 + random.nextInt(9_000), ids, needs);
+        }
+        return builder.build();
+    }
+
+    private static int[] stock(CatalogSnapshot catalog, Random random, int max) {
+        int[] stock = catalog.newQuantityArray();
+        for (int i = 1; i <= INGREDIENTS; i++) stock[i] = random.nextInt(max + 1);
+        return stock;
+    }
+
+    private static int[] allRecipes(CatalogSnapshot catalog) {
+        int[] all = new int[catalog.size()];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+        return all;
+    }
+
+    private static long bruteForce(CatalogSnapshot catalog, int[] candidates, int i, int[] stock, int remaining) {
+        if (i == candidates.length || remaining == 0) return 0;
+        long best = bruteForce(catalog, candidates, i + 1, stock, remaining);
+
+        int r = candidates[i];
+        for (int t = 1; t <= remaining && canCook(catalog, r, stock, t); t++) {
+            take(catalog, r, stock, t);
+            best = Math.max(best, (long) t * catalog.energy(r) + bruteForce(catalog, candidates, i + 1, stock, remaining - t));
+            take(catalog, r, stock, -t);
+        }
+        return best;
+    }
+
+    private static boolean canCook(CatalogSnapshot catalog, int r, int[] stock, int times) {
+        for (int k = 0; k < catalog.ingredientCount(r); k++) {
+            if (stock[catalog.ingredientId(r, k)] < catalog.need(r, k) * times) return false;
+        }
+        return true;
+    }
+
+    private static void take(CatalogSnapshot catalog, int r, int[] stock, int times) {
+        for (int k = 0; k < catalog.ingredientCount(r); k++) {
+            stock[catalog.ingredientId(r, k)] -= catalog.need(r, k) * times;
+        }
+    }
+
+    private static void assertFeasible(CatalogSnapshot catalog, MealPlanner.Plan plan, int[] stock, int cooks) {
+        int[] left = stock.clone();
+        int times = 0;
+        long energy = 0;
+        for (MealPlanner.Plan.Item item : plan.items()) {
+            take(catalog, item.recipeIndex(), left, item.times());
+            times += item.times();
+            energy += (long) item.times() * item.energy();
+        }
+        assertThat(times).isLessThanOrEqualTo(cooks);
+        assertThat(Arrays.stream(left).min().orElse(0)).isGreaterThanOrEqualTo(0);
+        assertThat(energy).isEqualTo(plan.totalEnergy());
+    }
+}
@@ -0,0 +1,66 @@
+package com.syun.posleep.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenCodecTests {
+
+    private static final Key KEY = key("THIS_IS_A_TEST_SECRET_KEY_0123456789ABCDEF");
+
+    @Test
+    void verifiedTokenIsServedFromCache() {
+        JwtTokenCodec codec = new JwtTokenCodec(KEY, 60_000, 10, 60_000);
+        String token = codec.createToken(1, "kim", "ROLE_USER", 3);
+
+        Claims first = codec.verify(token);
+        assertThat(first).isNotNull();
+        assertThat(first.get(JwtTokenCodec.CLAIM_USER_ID, Integer.class)).isEqualTo(1);
+        assertThat(first.get(JwtTokenCodec.CLAIM_VERSION, Integer.class)).isEqualTo(3);
+        assertThat(codec.verify(token)).isSameAs(first);
+    }
+
+    @Test
+    void invalidTokensAreRejected() {
+        JwtTokenCodec codec = new JwtTokenCodec(KEY, 60_000, 10, 60_000);
+        JwtTokenCodec other = new JwtTokenCodec(key("ANOTHER_TEST_SECRET_KEY_0123456789ABCDEFGH"), 60_000, 10, 60_000);
+        String token = codec.createToken(1, "kim", "ROLE_USER", 0);
+
+        assertThat(codec.verify(other.createToken(1, "kim", "ROLE_USER", 0))).isNull();
+        assertThat(codec.verify(token.substring(0, token.length() - 2) + "xx")).isNull();
+        assertThat(codec.verify("not-a-jwt")).isNull();
+        assertThat(codec.verify("")).isNull();
+        assertThat(codec.verify(null)).isNull();
+    }
+
+    @Test
+    void cachedEntryExpiresWithTokenBeforeCacheTtl() throws InterruptedException {
+        // 토큰 유효 1초, 캐시 TTL 1분 -> 캐시 항목도 토큰 exp 에 만료돼야 한다
+        JwtTokenCodec codec = new JwtTokenCodec(KEY, 1_000, 10, 60_000);
+        String token = codec.createToken(1, "kim", "ROLE_USER", 0);
+        assertThat(codec.verify(token)).isNotNull();
+
+        Thread.sleep(1_100);
+
+        assertThat(codec.verify(token)).isNull();
+    }
+
+    @Test
+    void disabledCacheStillVerifies() {
+        JwtTokenCodec codec = new JwtTokenCodec(KEY, 60_000, 0, 60_000);
+        String token = codec.createToken(1, "kim", "ROLE_USER", 0);
+
+        Claims first = codec.verify(token);
+        assertThat(first).isNotNull();
+        assertThat(codec.verify(token)).isNotNull().isNotSameAs(first);
+    }
+
+    private static Key key(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,96 @@
+package com.syun.posleep.security.jwt;
+
+import com.syun.posleep.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 검증 캐시(verified-cache)에 남아 있는 토큰도 폐기/버전 증가 후에는 인증되지 않아야 한다
+ */
+class JwtTokenProviderTests {
+
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenRevocationRegistry revocationRegistry = new TokenRevocationRegistry(userRepository, 10, 60_000);
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findTokenVersion(1)).thenReturn(0);
+    }
+
+    @Test
+    void claimsModeRejectsRevokedTokenWhileVerifiedEntryIsCached() {
+        JwtTokenProvider provider = provider(PrincipalSource.CLAIMS);
+        String token = provider.createToken(1, "kim", "ROLE_USER", 0);
+
+        Claims claims = provider.resolveClaims(token);
+        assertThat(provider.getAuthentication(claims)).isNotNull();
+
+        provider.revoke(1, 1);
+
+        Claims cached = provider.resolveClaims(token);
+        assertThat(cached).isSameAs(claims);
+        assertThat(provider.getAuthentication(cached)).isNull();
+        assertThat(provider.getAuthentication(provider.resolveClaims(provider.createToken(1, "kim", "ROLE_USER", 1)))).isNotNull();
+    }
+
+    @Test
+    void cachedModeRejectsTokenAfterVersionBump() {
+        JwtTokenProvider provider = provider(PrincipalSource.CACHED);
+        String token = provider.createToken(1, "kim", "ROLE_USER", 0);
+        when(userDetailsService.loadUserByUsername("kim")).thenReturn(user(0));
+
+        Claims claims = provider.resolveClaims(token);
+        assertThat(provider.getAuthentication(claims)).isNotNull();
+
+        // logout-all: DB 버전 증가 + principal 캐시 제거
+        when(userDetailsService.loadUserByUsername("kim")).thenReturn(user(1));
+        provider.revoke(1, 1);
+
+        Claims cached = provider.resolveClaims(token);
+        assertThat(cached).isSameAs(claims);
+        assertThat(provider.getAuthentication(cached)).isNull();
+    }
+
+    @Test
+    void databaseModeRejectsTokenAfterVersionBump() {
+        JwtTokenProvider provider = provider(PrincipalSource.DATABASE);
+        String token = provider.createToken(1, "kim", "ROLE_USER", 0);
+        when(userDetailsService.loadUserByUsername("kim")).thenReturn(user(0));
+
+        Claims claims = provider.resolveClaims(token);
+        assertThat(provider.getAuthentication(claims)).isNotNull();
+
+        when(userDetailsService.loadUserByUsername("kim")).thenReturn(user(1));
+
+        Claims cached = provider.resolveClaims(token);
+        assertThat(cached).isSameAs(claims);
+        assertThat(provider.getAuthentication(cached)).isNull();
+    }
+
+    private JwtTokenProvider provider(PrincipalSource source) {
+        JwtTokenProvider provider = new JwtTokenProvider(userDetailsService, revocationRegistry);
+        ReflectionTestUtils.setField(provider, "secretKeyPlain", "THIS_IS_A_TEST_SECRET_KEY_0123456789ABCDEF");
+        ReflectionTestUtils.setField(provider, "validityInMs", 60_000L);
+        ReflectionTestUtils.setField(provider, "principalSourceName", source.name());
+        ReflectionTestUtils.setField(provider, "principalCacheMaxSize", 10);
+        ReflectionTestUtils.setField(provider, "principalCacheTtlMs", 60_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheMaxSize", 10);
+        ReflectionTestUtils.setField(provider, "verifiedCacheTtlMs", 60_000L);
+        provider.init();
+        return provider;
+    }
+
+    private static CustomUserDetails user(int tokenVersion) {
+        return new CustomUserDetails(1, "kim", "", tokenVersion, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,59 @@
+package com.syun.posleep.security.jwt;
+
+import com.syun.posleep.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationRegistryTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void olderTokenVersionIsRevoked() {
+        when(userRepository.findTokenVersion(1)).thenReturn(2);
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(userRepository, 10, 60_000);
+
+        assertThat(registry.isRevoked(1, 1)).isTrue();
+        assertThat(registry.isRevoked(1, 2)).isFalse();
+        assertThat(registry.isRevoked(1, 3)).isFalse();
+        // 재확인 주기 안에서는 DB 를 다시 읽지 않는다
+        verify(userRepository, times(1)).findTokenVersion(1);
+    }
+
+    @Test
+    void missingUserIsRevoked() {
+        when(userRepository.findTokenVersion(99)).thenReturn(null);
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(userRepository, 10, 60_000);
+
+        assertThat(registry.isRevoked(99, 0)).isTrue();
+    }
+
+    @Test
+    void localRevokeAppliesImmediately() {
+        when(userRepository.findTokenVersion(1)).thenReturn(0);
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(userRepository, 10, 60_000);
+        assertThat(registry.isRevoked(1, 0)).isFalse();
+
+        registry.revoke(1, 1);
+
+        assertThat(registry.isRevoked(1, 0)).isTrue();
+    }
+
+    @Test
+    void revokeOnAnotherInstanceIsSeenAfterRecheck() throws InterruptedException {
+        when(userRepository.findTokenVersion(1)).thenReturn(0);
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(userRepository, 10, 50);
+        assertThat(registry.isRevoked(1, 0)).isFalse();
+
+        // 다른 인스턴스의 logout-all: DB 버전만 올라간다
+        when(userRepository.findTokenVersion(1)).thenReturn(1);
+        Thread.sleep(80);
+
+        assertThat(registry.isRevoked(1, 0)).isTrue();
+    }
+}
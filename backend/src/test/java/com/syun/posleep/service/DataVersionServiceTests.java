@@ -0,0 +1,68 @@
+package com.syun.posleep.service;
+
+import com.syun.posleep.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DataVersionServiceTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void cachedVersionIsServedWithoutDatabase() {
+        when(userRepository.findDataVersion(1)).thenReturn(3L);
+        DataVersionService service = new DataVersionService(userRepository, 10, 60_000);
+
+        assertThat(service.current(1)).isEqualTo(3L);
+        assertThat(service.current(1)).isEqualTo(3L);
+        verify(userRepository, times(1)).findDataVersion(1);
+    }
+
+    @Test
+    void bumpUpdatesCachedVersion() {
+        DataVersionService service = new DataVersionService(userRepository, 10, 60_000);
+        when(userRepository.findDataVersion(1)).thenReturn(3L);
+        assertThat(service.current(1)).isEqualTo(3L);
+
+        // 트랜잭션 밖 bump: DB 증가 후 읽은 값으로 바로 갱신
+        when(userRepository.findDataVersion(1)).thenReturn(4L);
+        service.bump(1);
+
+        assertThat(service.current(1)).isEqualTo(4L);
+        verify(userRepository).incrementDataVersion(1);
+    }
+
+    @Test
+    void writeOnAnotherInstanceIsSeenAfterTtl() throws InterruptedException {
+        when(userRepository.findDataVersion(1)).thenReturn(3L);
+        DataVersionService service = new DataVersionService(userRepository, 10, 50);
+        assertThat(service.current(1)).isEqualTo(3L);
+
+        // 다른 인스턴스가 DB 값만 올린 상태
+        when(userRepository.findDataVersion(1)).thenReturn(4L);
+        Thread.sleep(80);
+
+        assertThat(service.current(1)).isEqualTo(4L);
+    }
+
+    @Test
+    void cacheIsBoundedByMaxSize() {
+        when(userRepository.findDataVersion(1)).thenReturn(1L);
+        when(userRepository.findDataVersion(2)).thenReturn(2L);
+        when(userRepository.findDataVersion(3)).thenReturn(3L);
+        DataVersionService service = new DataVersionService(userRepository, 2, 60_000);
+
+        service.current(1);
+        service.current(2);
+        service.current(3);
+        // 가장 오래된 1 은 밀려나 DB 에서 다시 읽는다
+        assertThat(service.current(1)).isEqualTo(1L);
+
+        verify(userRepository, times(2)).findDataVersion(1);
+    }
+}
@@ -19,6 +19,16 @@ type Ingredient = {
 
 type IngredientFormReq = { rows: Ingredient[] };
 
+type OcrJob = {
+    jobId: string;
+    status: 'PENDING' | 'RUNNING' | 'DONE' | 'FAILED';
+    applied: number | null;
+    error: string | null;
+};
+
+const OCR_POLL_INTERVAL_MS = 1000;
+const OCR_POLL_LIMIT = 60;
+
 type StatusFilter = 'all' | 'registered' | 'unregistered';
 type SortKey = 'id' | 'name' | 'quantity' | 'registered';
 type SortDir = 'asc' | 'desc';
@@ -165,6 +175,19 @@ export default function IngredientsPage() {
         setOcrPreview(URL.createObjectURL(f));
     }
 
+    // 작업이 끝날 때까지 상태 조회
+    const waitOcrJob = async (jobId: string) => {
+        for (let i = 0; i < OCR_POLL_LIMIT; i++) {
+            await new Promise(r => setTimeout(r, OCR_POLL_INTERVAL_MS));
+            const res = await apiFetch(`/ingredients/ocr/${jobId}`);
+            if (!res.ok) throw new Error("OCR Job Not Found");
+            const json: ApiResponse<OcrJob> = await res.json();
+            if (json.data.status === 'DONE') return;
+            if (json.data.status === 'FAILED') throw new Error(json.data.error ?? "OCR Failed");
+        }
+        throw new Error("OCR Timeout");
+    }
+
     const callOcr = async () => {
         if (!ocrFile || ocrUploading) return;
         try {
@@ -175,7 +198,14 @@ export default function IngredientsPage() {
                 method: "POST",
                 body: form,
             });
+            if (res.status === 503) {
+                alert("OCR 요청이 많아요. 잠시 후 다시 시도해주세요.");
+                setOcrUploading(false);
+                return;
+            }
             if (!res.ok) throw new Error("OCR Failed");
+            const json: ApiResponse<OcrJob> = await res.json();
+            await waitOcrJob(json.data.jobId);
             window.location.reload();
         } catch (e) {
             console.error(e);
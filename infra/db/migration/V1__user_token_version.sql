@@ -0,0 +1,6 @@
+-- 운영(prod)은 spring.jpa.hibernate.ddl-auto=none 이라 스키마 변경을 여기 순서대로 수동 적용한다.
+-- 파일명은 Flyway 규칙(V<번호>__<설명>.sql)을 따른다. 배포 전에 적용할 것.
+
+-- JWT 토큰 버전 (POST /auth/logout-all 시 증가, 이전 버전 토큰 거부)
+ALTER TABLE user
+    ADD COLUMN IF NOT EXISTS token_version INT NOT NULL DEFAULT 0;
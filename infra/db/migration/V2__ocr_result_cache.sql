@@ -0,0 +1,7 @@
+-- 이미지 SHA-256 별 OCR 파싱 결과 (ocr.cache.persist=true 일 때만 사용, domain/OcrResult)
+CREATE TABLE IF NOT EXISTS ocr_result_cache (
+    digest      VARCHAR(64)  NOT NULL,
+    result_json TEXT         NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (digest)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
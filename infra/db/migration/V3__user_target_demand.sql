@@ -0,0 +1,20 @@
+-- 유저별 목표 식재료 수량 요약 (domain/UserTargetDemand, TargetDemandService 가 유지)
+CREATE TABLE IF NOT EXISTS user_target_demand (
+    user_id       INT NOT NULL,
+    ingredient_id INT NOT NULL,
+    quantity      INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, ingredient_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 최초 적재. recipe_ingredient (마스터 데이터) 를 바꾼 뒤에도 이 문장을 다시 돌린다
+DELETE FROM user_target_demand;
+INSERT INTO user_target_demand (user_id, ingredient_id, quantity)
+SELECT ur.user_id,
+        ri.ingredient_id,
+        SUM(ri.quantity)
+FROM user_recipe ur
+    JOIN recipe r               ON ur.recipe_id = r.id
+    JOIN pot p                  ON p.user_id = ur.user_id AND r.category = p.category
+    JOIN recipe_ingredient ri   ON ri.recipe_id = r.id
+WHERE ur.is_target
+GROUP BY ur.user_id, ri.ingredient_id;
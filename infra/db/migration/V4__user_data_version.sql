@@ -0,0 +1,3 @@
+-- 유저 데이터(식재료/레시피/냄비) 버전 (DataVersionService 가 변경마다 증가, 시트 ETag)
+ALTER TABLE user
+    ADD COLUMN IF NOT EXISTS data_version BIGINT NOT NULL DEFAULT 0;